@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+/**
+ * This program rotates all of the elements in an array left by a given k
+ * value, choosing a strategy based on the size of the array and k.  It runs
+ * in O(n) time in all cases:
+ *
+ *   1. If the smaller of k and n - k fits in a small buffer, that many
+ *      elements are copied out, the rest are moved with one
+ *      System.arraycopy, and the buffer is copied back.
+ *   2. Otherwise, if gcd(k, n) is at least one cache line of elements, the
+ *      juggling algorithm moves a whole cache line of adjacent cycles at
+ *      a time, so every line it loads is fully used.
+ *   3. Otherwise, the iterative block-swap algorithm is used.  It swaps
+ *      blocks with sequential bulk copies, which the hardware prefetcher
+ *      handles well, unlike the stride-k jumps of the plain juggling
+ *      algorithm, and it moves each element about once instead of twice
+ *      like the reversal algorithm.
+ *
+ * Cases 1 and 3 use a buffer bounded by a constant, and case 2 uses O(1)
+ * additional space.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class AdaptiveRotation {
+    /** The largest number of elements that are copied to a buffer (256 KB). */
+    public static final int MAX_BUFFER_ELEMENTS = 1 << 16;
+
+    /** The number of ints in a 64-byte cache line. */
+    public static final int CACHE_LINE_ELEMENTS = 16;
+
+    /**
+     * Runs the program with an example array.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int[] array = new int[] { 1, 2, 3, 4, 5, 6, 7 };
+        int k = 2;
+
+        System.out.println(Arrays.toString(array));
+        System.out.println("rotated to the left " + k + " is:");
+        rotateArrayLeft(array, k);
+        System.out.println(Arrays.toString(array));
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     * If k is negative, it rotates the elements in the array right.
+     * This method modifies the array in place, so it does not return
+     * anything.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateArrayLeft(int[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+
+        // Ensure k is in interval [0, n)
+        k = ((k % n) + n) % n;
+
+        if (k == 0) {
+            return;
+        }
+
+        if (Math.min(k, n - k) <= MAX_BUFFER_ELEMENTS) {
+            rotateWithBuffer(array, k);
+        } else {
+            int gcd = JugglingAlgorithm.gcd(k, n);
+
+            if (gcd >= CACHE_LINE_ELEMENTS) {
+                rotateCycles(array, k, 0, gcd);
+            } else {
+                BlockSwapAlgorithm.rotateArrayLeft(array, 0, n - 1, k, n - k);
+            }
+        }
+    }
+
+    /**
+     * Rotates an array left by copying the smaller of its two blocks to a
+     * buffer and moving the larger block with System.arraycopy, which
+     * handles overlapping ranges.
+     *
+     * @param array     The array to shift.
+     * @param k         The number of indices to shift by, in (0, n).
+     */
+    private static void rotateWithBuffer(int[] array, int k) {
+        int n = array.length;
+
+        if (k <= n - k) {
+            int[] buffer = Arrays.copyOfRange(array, 0, k);
+            System.arraycopy(array, k, array, 0, n - k);
+            System.arraycopy(buffer, 0, array, n - k, k);
+        } else {
+            int[] buffer = Arrays.copyOfRange(array, k, n);
+            System.arraycopy(array, 0, array, n - k, k);
+            System.arraycopy(buffer, 0, array, 0, n - k);
+        }
+    }
+
+    /**
+     * Runs the juggling algorithm on a range of its cycles, moving up to a
+     * cache line of cycles together.  Cycle c holds the indices congruent to
+     * c modulo gcd(k, n), so cycles c through c + w - 1 (for c + w <= gcd)
+     * sit side by side at every step and can be moved as one contiguous
+     * block.  Distinct ranges of cycles touch distinct elements, so they can
+     * be rotated concurrently.
+     *
+     * @param array         The array to shift.
+     * @param k             The number of indices to shift by, in (0, n).
+     * @param startCycle    The first cycle to rotate.
+     * @param endCycle      One past the last cycle to rotate (at most
+     *                      gcd(k, n)).
+     */
+    static void rotateCycles(int[] array, int k, int startCycle, int endCycle) {
+        int n = array.length;
+        int[] temp = new int[CACHE_LINE_ELEMENTS];
+
+        for (int i = startCycle; i < endCycle; i += CACHE_LINE_ELEMENTS) {
+            int width = Math.min(CACHE_LINE_ELEMENTS, endCycle - i);
+            int j = i;
+
+            System.arraycopy(array, i, temp, 0, width);
+
+            while (true) {
+                // Compare before adding, so that j + k cannot overflow for n > 2^30
+                int p = (j >= n - k) ? j - (n - k) : j + k;
+
+                if (p == i) {
+                    break;
+                }
+
+                System.arraycopy(array, p, array, j, width);
+                j = p;
+            }
+
+            System.arraycopy(temp, 0, array, j, width);
+        }
+    }
+}
\ No newline at end of file
@@ -3,12 +3,20 @@ import java.util.Arrays;
 /**
  * This program rotates all of the elements in an array left by a given k
  * value.  It runs in O(n) time and uses O(1) additional space (it operates
- * in-place).
+ * in-place, apart from a scratch buffer of at most SCRATCH_SIZE elements).
+ * Blocks are swapped with bulk copies through the scratch buffer, and once
+ * the smaller block fits in the buffer, the rest of the rotation is done
+ * with a single overlapping copy.  The algorithm is iterative, so it cannot
+ * overflow the stack, and it can also rotate PagedIntArrays with billions
+ * of elements.
  *
  * @author      John Kurlak <john@kurlak.com>
  * @date        5/30/2013
  */
 public class BlockSwapAlgorithm {
+    /** The largest number of elements in a scratch buffer (16 KB). */
+    public static final int SCRATCH_SIZE = 1 << 12;
+
     /**
      * Runs the program with an example array.
      *
@@ -34,17 +42,12 @@ public class BlockSwapAlgorithm {
      * @param k     The number of indices by which to shift the array.
      */
     public static void rotateArrayLeft(int[] array, int k) {
-        if (array == null) {
+        if (array == null || array.length == 0) {
             return;
         }
 
         int n = array.length;
 
-        // Handle negative k values (rotate to right)
-        if (k < 0) {
-            k = n - Math.abs(k);
-        }
-
         // Ensure k is in interval [0, n)
         k = ((k % n) + n) % n;
 
@@ -52,8 +55,8 @@ public class BlockSwapAlgorithm {
     }
 
     /**
-     * Swaps two blocks of elements within a subarray. This method modifies
-     * the subarray in place, so it does not return anything.
+     * Swaps two adjacent blocks of elements within a subarray. This method
+     * modifies the subarray in place, so it does not return anything.
      *
      * @param array         The array containing the subarray we will shift.
      * @param startIndex    The starting index of the subarray.
@@ -62,28 +65,153 @@ public class BlockSwapAlgorithm {
      * @param rightSize     The size of the right block.
      */
     public static void rotateArrayLeft(int[] array, int startIndex, int endIndex, int leftSize, int rightSize) {
-        if (leftSize == rightSize) {
-            swapBlocks(array, startIndex, startIndex + rightSize, rightSize);
-        } else if (leftSize < rightSize) {
-            swapBlocks(array, startIndex, endIndex - leftSize + 1, leftSize);
-            rotateArrayLeft(array, startIndex, endIndex - leftSize, leftSize, rightSize - leftSize);
-        } else {
-            swapBlocks(array, startIndex, endIndex - rightSize + 1, rightSize);
-            rotateArrayLeft(array, startIndex + rightSize, endIndex, leftSize - rightSize, rightSize);
+        int[] scratch = new int[Math.min(SCRATCH_SIZE, Math.min(leftSize, rightSize))];
+
+        while (leftSize != 0 && rightSize != 0) {
+            // Once the smaller block fits in the scratch buffer, finish with one overlapping copy
+            if (Math.min(leftSize, rightSize) <= scratch.length) {
+                if (leftSize <= rightSize) {
+                    System.arraycopy(array, startIndex, scratch, 0, leftSize);
+                    System.arraycopy(array, startIndex + leftSize, array, startIndex, rightSize);
+                    System.arraycopy(scratch, 0, array, startIndex + rightSize, leftSize);
+                } else {
+                    System.arraycopy(array, startIndex + leftSize, scratch, 0, rightSize);
+                    System.arraycopy(array, startIndex, array, startIndex + rightSize, leftSize);
+                    System.arraycopy(scratch, 0, array, startIndex, rightSize);
+                }
+
+                return;
+            }
+
+            // Move the smaller block to its final place and keep rotating the rest of the subarray
+            if (leftSize <= rightSize) {
+                swapBlocks(array, startIndex, endIndex - leftSize + 1, leftSize, scratch);
+                endIndex -= leftSize;
+                rightSize -= leftSize;
+            } else {
+                swapBlocks(array, startIndex, endIndex - rightSize + 1, rightSize, scratch);
+                startIndex += rightSize;
+                leftSize -= rightSize;
+            }
+        }
+    }
+
+    /**
+     * Rotates all of the elements in a paged array left by the given k
+     * value.  If k is negative, it rotates the elements in the array right.
+     * This method modifies the array in place, so it does not return
+     * anything.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateArrayLeft(PagedIntArray array, long k) {
+        if (array == null || array.length() == 0) {
+            return;
+        }
+
+        long n = array.length();
+
+        // Ensure k is in interval [0, n)
+        k = ((k % n) + n) % n;
+
+        long startIndex = 0;
+        long endIndex = n - 1;
+        long leftSize = k;
+        long rightSize = n - k;
+        int[] scratch = new int[(int) Math.min(SCRATCH_SIZE, Math.min(leftSize, rightSize))];
+        int[] otherScratch = new int[scratch.length];
+
+        while (leftSize != 0 && rightSize != 0) {
+            // Once the smaller block fits in the scratch buffer, finish with one overlapping copy
+            if (Math.min(leftSize, rightSize) <= scratch.length) {
+                if (leftSize <= rightSize) {
+                    array.get(startIndex, scratch, 0, (int) leftSize);
+                    moveBlock(array, startIndex + leftSize, startIndex, rightSize, otherScratch);
+                    array.set(startIndex + rightSize, scratch, 0, (int) leftSize);
+                } else {
+                    array.get(startIndex + leftSize, scratch, 0, (int) rightSize);
+                    moveBlock(array, startIndex, startIndex + rightSize, leftSize, otherScratch);
+                    array.set(startIndex, scratch, 0, (int) rightSize);
+                }
+
+                return;
+            }
+
+            // Move the smaller block to its final place and keep rotating the rest of the array
+            if (leftSize <= rightSize) {
+                swapBlocks(array, startIndex, endIndex - leftSize + 1, leftSize, scratch, otherScratch);
+                endIndex -= leftSize;
+                rightSize -= leftSize;
+            } else {
+                swapBlocks(array, startIndex, endIndex - rightSize + 1, rightSize, scratch, otherScratch);
+                startIndex += rightSize;
+                leftSize -= rightSize;
+            }
         }
     }
 
     /**
-     * Swaps two blocks of equal size in an array.
+     * Swaps two blocks of equal size in an array, one scratch buffer at a
+     * time.
      *
      * @param array         The array.
      * @param leftIndex     The index of the first element in the left block.
      * @param rightIndex    The index of the first element in the right block.
      * @param blockSize     The size of each block.
+     * @param scratch       The scratch buffer.
      */
-     private static void swapBlocks(int[] array, int leftIndex, int rightIndex, int blockSize) {
-        for (int i = 0; i < blockSize; i++) {
-            swap(array, leftIndex + i, rightIndex + i);
+    private static void swapBlocks(int[] array, int leftIndex, int rightIndex, int blockSize, int[] scratch) {
+        for (int done = 0; done < blockSize; done += scratch.length) {
+            int chunk = Math.min(scratch.length, blockSize - done);
+
+            System.arraycopy(array, leftIndex + done, scratch, 0, chunk);
+            System.arraycopy(array, rightIndex + done, array, leftIndex + done, chunk);
+            System.arraycopy(scratch, 0, array, rightIndex + done, chunk);
+        }
+    }
+
+    /**
+     * Swaps two blocks of equal size in a paged array, one scratch buffer at
+     * a time.
+     *
+     * @param array         The array.
+     * @param leftIndex     The index of the first element in the left block.
+     * @param rightIndex    The index of the first element in the right block.
+     * @param blockSize     The size of each block.
+     * @param leftScratch   The scratch buffer for the left block.
+     * @param rightScratch  The scratch buffer for the right block.
+     */
+    private static void swapBlocks(PagedIntArray array, long leftIndex, long rightIndex, long blockSize, int[] leftScratch, int[] rightScratch) {
+        for (long done = 0; done < blockSize; done += leftScratch.length) {
+            int chunk = (int) Math.min(leftScratch.length, blockSize - done);
+
+            array.get(leftIndex + done, leftScratch, 0, chunk);
+            array.get(rightIndex + done, rightScratch, 0, chunk);
+            array.set(leftIndex + done, rightScratch, 0, chunk);
+            array.set(rightIndex + done, leftScratch, 0, chunk);
+        }
+    }
+
+    /**
+     * Copies a block of a paged array to an overlapping position, one
+     * scratch buffer at a time.  Like memmove, it copies front to back when
+     * moving the block left and back to front when moving it right, so no
+     * element is overwritten before it is read.
+     *
+     * @param array         The array.
+     * @param srcIndex      The index of the first element to move.
+     * @param destIndex     The index to move the first element to.
+     * @param count         The number of elements to move.
+     * @param scratch       The scratch buffer.
+     */
+    private static void moveBlock(PagedIntArray array, long srcIndex, long destIndex, long count, int[] scratch) {
+        for (long done = 0; done < count; done += scratch.length) {
+            int chunk = (int) Math.min(scratch.length, count - done);
+            long offset = (destIndex < srcIndex) ? done : count - done - chunk;
+
+            array.get(srcIndex + offset, scratch, 0, chunk);
+            array.set(destIndex + offset, scratch, 0, chunk);
         }
     }
 
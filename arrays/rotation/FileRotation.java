@@ -0,0 +1,428 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * This program rotates the fixed-size records of a file left by a given k
+ * value, in place.  It uses the reversal algorithm: reverse the first k
+ * records, reverse the rest, then reverse the whole file.  Each reversal
+ * swaps a chunk of records from the front with a chunk from the back, so
+ * the file is read and written in large sequential pieces and memory use is
+ * bounded by the chunk size, no matter how large the file is.
+ *
+ * Before each chunk swap, the original contents of the left chunk, a
+ * digest of the right chunk, and the current position are saved to a small
+ * undo journal next to the file.  The reversed right chunk is written over
+ * the left one and forced to disk before the right chunk is overwritten, so
+ * the original right chunk always survives in one place or the other.  If
+ * the rotation is interrupted, running it again (or calling resume())
+ * restores the chunks of the interrupted step and carries on from there.  The
+ * journal is deleted once the rotation finishes.  The directory holding the
+ * file is forced to disk after the journal is moved into place and after it
+ * is deleted, so this guarantee holds across power loss only on filesystems
+ * that honor fsync on a directory (elsewhere, such as on Windows, the
+ * directory is not forced).
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class FileRotation {
+    /** The default number of bytes of records held in memory at once (16 MB). */
+    public static final int DEFAULT_BUFFER_BYTES = 1 << 24;
+
+    /** Identifies a journal file. */
+    private static final long JOURNAL_MAGIC = 0x524F544A4F55524EL;
+
+    /** The number of bytes in a journal before the saved chunk. */
+    private static final int JOURNAL_HEADER_BYTES = 8 + 4 + 8 + 8 + 4 + 8 + 8 + 4;
+
+    /** The algorithm that identifies the original contents of a right chunk. */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    /** The number of bytes in a digest. */
+    private static final int DIGEST_BYTES = 32;
+
+    /**
+     * Runs the program.  With no arguments, it rotates an example file of
+     * ten 4-byte records by 3.  Otherwise, the arguments are the file, the
+     * record size in bytes, and k.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3) {
+            rotateRecordsLeft(Paths.get(args[0]), Integer.parseInt(args[1]), Long.parseLong(args[2]));
+            return;
+        }
+
+        Path file = Files.createTempFile("rotation", ".bin");
+        ByteBuffer records = ByteBuffer.allocate(40);
+
+        for (int i = 1; i <= 10; i++) {
+            records.putInt(i);
+        }
+
+        Files.write(file, records.array());
+        rotateRecordsLeft(file, 4, 3);
+
+        ByteBuffer rotated = ByteBuffer.wrap(Files.readAllBytes(file));
+        StringBuilder result = new StringBuilder();
+
+        while (rotated.hasRemaining()) {
+            result.append(rotated.getInt()).append(' ');
+        }
+
+        System.out.println("Records rotated to the left 3: " + result.toString().trim());
+        Files.delete(file);
+    }
+
+    /**
+     * Rotates the records of a file left by the given k value, using the
+     * default buffer size.  If k is negative, it rotates the records right.
+     * If the journal of an interrupted rotation with the same arguments
+     * exists, that rotation is resumed.
+     *
+     * @param file          The file to rotate.
+     * @param recordSize    The number of bytes in each record.
+     * @param k             The number of records by which to shift the file.
+     */
+    public static void rotateRecordsLeft(Path file, int recordSize, long k) throws IOException {
+        rotateRecordsLeft(file, recordSize, k, DEFAULT_BUFFER_BYTES);
+    }
+
+    /**
+     * Rotates the records of a file left by the given k value.  If k is
+     * negative, it rotates the records right.  If the journal of an
+     * interrupted rotation with the same arguments exists, that rotation is
+     * resumed.
+     *
+     * @param file          The file to rotate.
+     * @param recordSize    The number of bytes in each record.
+     * @param k             The number of records by which to shift the file.
+     * @param bufferBytes   The number of bytes of records to hold in memory
+     *                      at once (at least two records are always held).
+     */
+    public static void rotateRecordsLeft(Path file, int recordSize, long k, int bufferBytes) throws IOException {
+        if (recordSize <= 0 || bufferBytes <= 0) {
+            throw new IllegalArgumentException("recordSize and bufferBytes must be positive: " + recordSize + ", " + bufferBytes);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+
+            if (size % recordSize != 0) {
+                throw new IllegalArgumentException("The size of " + file + " (" + size + ") is not a multiple of " + recordSize);
+            }
+
+            long n = size / recordSize;
+
+            // Ensure k is in interval [0, n)
+            k = (n == 0) ? 0 : ((k % n) + n) % n;
+
+            State state = new State(recordSize, n, k, 0, 0, k);
+
+            if (Files.exists(journalPath(file))) {
+                State saved = restore(file, channel);
+
+                if (saved.recordSize != recordSize || saved.numRecords != n || saved.k != k) {
+                    throw new IOException("The journal of " + file + " is for a different rotation (record size "
+                                          + saved.recordSize + ", " + saved.numRecords + " records, k = " + saved.k + ")");
+                }
+
+                state = saved;
+            } else if (k == 0) {
+                // Nothing to do (this includes files of fewer than two records)
+                return;
+            }
+
+            rotate(file, channel, state, bufferBytes);
+        }
+    }
+
+    /**
+     * Finishes an interrupted rotation of a file, using the arguments saved
+     * in its journal.
+     *
+     * @param file      The file whose rotation was interrupted.
+     * @return          True if a rotation was resumed and false if there was
+     *                  no journal.
+     */
+    public static boolean resume(Path file) throws IOException {
+        if (!Files.exists(journalPath(file))) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            rotate(file, channel, restore(file, channel), DEFAULT_BUFFER_BYTES);
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs the three reversals of the reversal algorithm, starting from the
+     * given state, then deletes the journal.
+     *
+     * @param file          The file to rotate.
+     * @param channel       A channel open for reading and writing the file.
+     * @param state         The state to start from.
+     * @param bufferBytes   The number of bytes of records to hold in memory
+     *                      at once.
+     */
+    private static void rotate(Path file, FileChannel channel, State state, int bufferBytes) throws IOException {
+        int recordSize = state.recordSize;
+        long maxChunkRecords = Math.max(bufferBytes / 2 / recordSize, 1);
+        byte[] leftChunk = new byte[(int) Math.min(maxChunkRecords * recordSize, state.numRecords / 2 * recordSize)];
+        byte[] rightChunk = new byte[leftChunk.length];
+        byte[] temp = new byte[recordSize];
+
+        for (int phase = state.phase; phase < 3; phase++) {
+            long left = (phase == state.phase) ? state.left : (phase == 1) ? state.k : 0;
+            long right = (phase == state.phase) ? state.right : (phase == 0) ? state.k : state.numRecords;
+
+            // Swap chunks from the two ends until they meet in the middle
+            while (right - left >= 2) {
+                int chunkRecords = (int) Math.min(maxChunkRecords, (right - left) / 2);
+                int chunkBytes = chunkRecords * recordSize;
+                long leftPosition = left * recordSize;
+                long rightPosition = (right - chunkRecords) * recordSize;
+
+                read(channel, leftChunk, leftPosition, chunkBytes);
+                read(channel, rightChunk, rightPosition, chunkBytes);
+                writeJournal(file, new State(recordSize, state.numRecords, state.k, phase, left, right),
+                             leftChunk, digest(rightChunk, chunkBytes), chunkBytes);
+
+                reverseRecords(leftChunk, chunkRecords, recordSize, temp);
+                reverseRecords(rightChunk, chunkRecords, recordSize, temp);
+                write(channel, rightChunk, leftPosition, chunkBytes);
+
+                // The left chunk must be on disk before the right one changes, so restore() can rebuild it
+                channel.force(false);
+                write(channel, leftChunk, rightPosition, chunkBytes);
+                channel.force(false);
+
+                left += chunkRecords;
+                right -= chunkRecords;
+            }
+        }
+
+        Files.deleteIfExists(journalPath(file));
+        forceDirectory(file);
+    }
+
+    /**
+     * Reverses the order of the records in a chunk.
+     *
+     * @param chunk         The chunk.
+     * @param numRecords    The number of records in the chunk.
+     * @param recordSize    The number of bytes in each record.
+     * @param temp          A buffer of recordSize bytes.
+     */
+    private static void reverseRecords(byte[] chunk, int numRecords, int recordSize, byte[] temp) {
+        for (int leftIndex = 0, rightIndex = numRecords - 1; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            System.arraycopy(chunk, leftIndex * recordSize, temp, 0, recordSize);
+            System.arraycopy(chunk, rightIndex * recordSize, chunk, leftIndex * recordSize, recordSize);
+            System.arraycopy(temp, 0, chunk, rightIndex * recordSize, recordSize);
+        }
+    }
+
+    /**
+     * Saves the state at the start of a step, the original contents of the
+     * left chunk, and a digest of the right chunk.  The right chunk itself
+     * is not saved, because it is only overwritten once the left chunk holds
+     * a reversed copy of it.  The journal is written to a temporary file and
+     * then moved into place, so a crash leaves either the old journal or the
+     * new one, never a partial one.  The directory is forced after the move,
+     * so the new journal is durable before any of the step's chunks are
+     * written.
+     *
+     * @param file          The file being rotated.
+     * @param state         The state at the start of the step.
+     * @param leftChunk     The original contents of the left chunk.
+     * @param rightDigest   The digest of the original right chunk.
+     * @param chunkBytes    The number of bytes in each chunk.
+     */
+    private static void writeJournal(Path file, State state, byte[] leftChunk, byte[] rightDigest,
+                                     int chunkBytes) throws IOException {
+        Path tempJournal = Paths.get(journalPath(file) + ".tmp");
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_BYTES);
+
+        header.putLong(JOURNAL_MAGIC).putInt(state.recordSize).putLong(state.numRecords).putLong(state.k)
+              .putInt(state.phase).putLong(state.left).putLong(state.right).putInt(chunkBytes).flip();
+
+        try (FileChannel journal = FileChannel.open(tempJournal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            journal.write(new ByteBuffer[] { header, ByteBuffer.wrap(rightDigest), ByteBuffer.wrap(leftChunk, 0, chunkBytes) });
+            journal.force(true);
+        }
+
+        Files.move(tempJournal, journalPath(file), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // The step's writes must not reach the disk before the rename does
+        forceDirectory(file);
+    }
+
+    /**
+     * Forces the directory holding a file to disk, so that renames and
+     * deletions of entries in it survive a power loss.  This is best effort:
+     * some platforms (such as Windows) cannot open or force a directory, and
+     * there the failure is ignored.
+     *
+     * @param file      A file in the directory.
+     */
+    private static void forceDirectory(Path file) {
+        try (FileChannel directory = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // The platform does not support syncing a directory
+        }
+    }
+
+    /**
+     * Undoes the step recorded in a journal by writing back the original
+     * contents of its two chunks.  The left chunk comes from the journal.
+     * If the right chunk no longer matches its digest, it was being
+     * overwritten, so the left chunk already holds it reversed.
+     *
+     * @param file      The file being rotated.
+     * @param channel   A channel open for reading and writing the file.
+     * @return          The state at the start of the step.
+     */
+    private static State restore(Path file, FileChannel channel) throws IOException {
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalPath(file)));
+
+        if (journal.remaining() < JOURNAL_HEADER_BYTES || journal.getLong() != JOURNAL_MAGIC) {
+            throw new IOException(journalPath(file) + " is not a rotation journal");
+        }
+
+        State state = new State(journal.getInt(), journal.getLong(), journal.getLong(), journal.getInt(), journal.getLong(), journal.getLong());
+        int chunkBytes = journal.getInt();
+
+        if (journal.remaining() != DIGEST_BYTES + (long) chunkBytes) {
+            throw new IOException(journalPath(file) + " is truncated");
+        }
+
+        int chunkRecords = chunkBytes / state.recordSize;
+        long leftPosition = state.left * state.recordSize;
+        long rightPosition = (state.right - chunkRecords) * state.recordSize;
+        byte[] rightDigest = new byte[DIGEST_BYTES];
+        byte[] leftChunk = new byte[chunkBytes];
+        byte[] rightChunk = new byte[chunkBytes];
+
+        journal.get(rightDigest);
+        journal.get(leftChunk);
+        read(channel, rightChunk, rightPosition, chunkBytes);
+
+        if (!MessageDigest.isEqual(digest(rightChunk, chunkBytes), rightDigest)) {
+            read(channel, rightChunk, leftPosition, chunkBytes);
+            reverseRecords(rightChunk, chunkRecords, state.recordSize, new byte[state.recordSize]);
+        }
+
+        write(channel, leftChunk, leftPosition, chunkBytes);
+        write(channel, rightChunk, rightPosition, chunkBytes);
+        channel.force(false);
+
+        return state;
+    }
+
+    /**
+     * Computes the digest of the start of an array.
+     *
+     * @param src       The array.
+     * @param length    The number of bytes to digest.
+     * @return          The digest, of DIGEST_BYTES bytes.
+     */
+    private static byte[] digest(byte[] src, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(src, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads bytes from a channel at the given position, failing if the
+     * channel ends first.
+     *
+     * @param channel   The channel.
+     * @param dest      The array to read into.
+     * @param position  The position to read from.
+     * @param length    The number of bytes to read.
+     */
+    private static void read(FileChannel channel, byte[] dest, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(dest, 0, length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+    }
+
+    /**
+     * Writes bytes to a channel at the given position.
+     *
+     * @param channel   The channel.
+     * @param src       The array to write from.
+     * @param position  The position to write to.
+     * @param length    The number of bytes to write.
+     */
+    private static void write(FileChannel channel, byte[] src, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(src, 0, length);
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * @param file  The file being rotated.
+     * @return      The path of the journal for the file.
+     */
+    private static Path journalPath(Path file) {
+        return Paths.get(file + ".journal");
+    }
+
+    /**
+     * This class describes how far a rotation has progressed: the current
+     * reversal (0 for the first k records, 1 for the rest, and 2 for the
+     * whole file) and the range of records it still has to reverse.
+     */
+    private static class State {
+        private final int recordSize;
+        private final long numRecords;
+        private final long k;
+        private final int phase;
+        private final long left;
+        private final long right;
+
+        /**
+         * Creates a new state.
+         *
+         * @param recordSize    The number of bytes in each record.
+         * @param numRecords    The number of records in the file.
+         * @param k             The number of records to shift by, in [0, n).
+         * @param phase         The current reversal.
+         * @param left          The first record left to reverse.
+         * @param right         One past the last record left to reverse.
+         */
+        public State(int recordSize, long numRecords, long k, int phase, long left, long right) {
+            this.recordSize = recordSize;
+            this.numRecords = numRecords;
+            this.k = k;
+            this.phase = phase;
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * This program provides a long-indexed array of ints stored off-heap in
+ * direct buffers, so it can hold more than 2^31 elements.  The elements are
+ * split into pages of 2^PAGE_SHIFT ints, and bulk reads and writes that
+ * cross a page boundary are split into one bulk copy per page.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class PagedIntArray {
+    /** log2 of the number of ints in a page (each page is 512 MB). */
+    public static final int PAGE_SHIFT = 27;
+
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final IntBuffer[] pages;
+    private final long length;
+
+    /**
+     * Runs the program with an example array.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        PagedIntArray array = new PagedIntArray(10);
+
+        for (long i = 0; i < array.length(); i++) {
+            array.set(i, (int) (i * i));
+        }
+
+        System.out.println("Element 7 is " + array.get(7) + ".");
+    }
+
+    /**
+     * Creates a new array filled with zeros.
+     *
+     * @param length    The number of elements.
+     */
+    public PagedIntArray(long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must not be negative: " + length);
+        }
+
+        int numPages = (int) ((length + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+
+        this.pages = new IntBuffer[numPages];
+        this.length = length;
+
+        for (int i = 0; i < numPages; i++) {
+            long pageLength = Math.min(PAGE_SIZE, length - ((long) i << PAGE_SHIFT));
+            pages[i] = ByteBuffer.allocateDirect((int) pageLength * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+
+    /**
+     * @return      The number of elements in the array.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param index     The index, in [0, length()).
+     * @return          The element at that index.
+     */
+    public int get(long index) {
+        checkRange(index, 1);
+
+        return pages[(int) (index >>> PAGE_SHIFT)].get((int) (index & PAGE_MASK));
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param index     The index, in [0, length()).
+     * @param value     The new value of the element.
+     */
+    public void set(long index, int value) {
+        checkRange(index, 1);
+
+        pages[(int) (index >>> PAGE_SHIFT)].put((int) (index & PAGE_MASK), value);
+    }
+
+    /**
+     * Copies a range of elements into an int array.
+     *
+     * @param index         The index of the first element to copy.
+     * @param dest          The array to copy to.
+     * @param destOffset    The index in dest of the first element.
+     * @param count         The number of elements to copy.
+     */
+    public void get(long index, int[] dest, int destOffset, int count) {
+        checkRange(index, count);
+
+        while (count > 0) {
+            int pageOffset = (int) (index & PAGE_MASK);
+            int chunk = Math.min(count, PAGE_SIZE - pageOffset);
+
+            pages[(int) (index >>> PAGE_SHIFT)].get(pageOffset, dest, destOffset, chunk);
+            index += chunk;
+            destOffset += chunk;
+            count -= chunk;
+        }
+    }
+
+    /**
+     * Copies an int array into a range of elements.
+     *
+     * @param index         The index of the first element to overwrite.
+     * @param src           The array to copy from.
+     * @param srcOffset     The index in src of the first element.
+     * @param count         The number of elements to copy.
+     */
+    public void set(long index, int[] src, int srcOffset, int count) {
+        checkRange(index, count);
+
+        while (count > 0) {
+            int pageOffset = (int) (index & PAGE_MASK);
+            int chunk = Math.min(count, PAGE_SIZE - pageOffset);
+
+            pages[(int) (index >>> PAGE_SHIFT)].put(pageOffset, src, srcOffset, chunk);
+            index += chunk;
+            srcOffset += chunk;
+            count -= chunk;
+        }
+    }
+
+    /**
+     * Ensures that [index, index + count) is a range of elements.
+     *
+     * @param index     The index of the first element.
+     * @param count     The number of elements.
+     */
+    private void checkRange(long index, long count) {
+        if (index < 0 || count < 0 || index > length - count) {
+            throw new IndexOutOfBoundsException("Range [" + index + ", " + (index + count) + ") is outside [0, " + length + ")");
+        }
+    }
+}
\ No newline at end of file
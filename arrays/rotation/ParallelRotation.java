@@ -0,0 +1,251 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This program rotates all of the elements in an array left by a given k
+ * value on a fork-join pool.  When gcd(k, n) is large, the juggling
+ * algorithm's gcd(k, n) cycles are independent, so ranges of cycles are
+ * rotated concurrently.  Otherwise, the three reversals of the reversal
+ * algorithm are run in parallel: the first two reversals touch disjoint
+ * ranges and run side by side, and each reversal is split into ranges of
+ * independent swaps.  Arrays smaller than a tunable threshold are rotated
+ * serially with AdaptiveRotation.  It runs in O(n / p) time on p threads and
+ * uses O(1) additional space per thread.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class ParallelRotation {
+    /** The default number of elements below which work is done serially. */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    /**
+     * Runs the program with an example array.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int[] array = new int[] { 1, 2, 3, 4, 5, 6, 7 };
+        int k = 2;
+
+        System.out.println(Arrays.toString(array));
+        System.out.println("rotated to the left " + k + " is:");
+        rotateArrayLeft(array, k, ForkJoinPool.commonPool(), 2);
+        System.out.println(Arrays.toString(array));
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value on
+     * the common pool.  If k is negative, it rotates the elements in the
+     * array right.  This method modifies the array in place, so it does not
+     * return anything.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateArrayLeft(int[] array, int k) {
+        rotateArrayLeft(array, k, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value on
+     * the given pool.  If k is negative, it rotates the elements in the
+     * array right.  This method modifies the array in place, so it does not
+     * return anything.
+     *
+     * @param array         The array to shift.
+     * @param k             The number of indices by which to shift the array.
+     * @param pool          The pool to run on.
+     * @param threshold     The number of elements below which work is done
+     *                      serially (at least 1).
+     */
+    public static void rotateArrayLeft(int[] array, int k, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+
+        // Ensure k is in interval [0, n)
+        k = ((k % n) + n) % n;
+
+        if (k == 0) {
+            return;
+        }
+
+        if (n < threshold) {
+            AdaptiveRotation.rotateArrayLeft(array, k);
+            return;
+        }
+
+        int gcd = JugglingAlgorithm.gcd(k, n);
+
+        // Only split across cycles if there are enough of them to keep each thread busy
+        if (gcd >= AdaptiveRotation.CACHE_LINE_ELEMENTS * pool.getParallelism()) {
+            pool.invoke(new CyclesTask(array, k, 0, gcd, cyclesPerTask(n, gcd, threshold)));
+        } else {
+            pool.invoke(new RotateTask(array, k, threshold));
+        }
+    }
+
+    /**
+     * Computes how many cycles each task should rotate so that it moves at
+     * least threshold elements.  The count is a multiple of a cache line of
+     * elements, so each task moves whole blocks of adjacent cycles.
+     *
+     * @param n             The length of the array.
+     * @param gcd           The number of cycles.
+     * @param threshold     The number of elements below which work is done
+     *                      serially.
+     * @return              The number of cycles per task.
+     */
+    private static int cyclesPerTask(int n, int gcd, int threshold) {
+        long cycleLength = n / gcd;
+        long cycles = (threshold + cycleLength - 1) / cycleLength;
+        long lines = (cycles + AdaptiveRotation.CACHE_LINE_ELEMENTS - 1) / AdaptiveRotation.CACHE_LINE_ELEMENTS;
+
+        return (int) Math.min(lines * AdaptiveRotation.CACHE_LINE_ELEMENTS, gcd);
+    }
+
+    /**
+     * This class rotates a range of the juggling algorithm's cycles,
+     * splitting the range in half until each piece is small enough.
+     */
+    private static class CyclesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int k;
+        private final int startCycle;
+        private final int endCycle;
+        private final int cyclesPerTask;
+
+        /**
+         * Creates a new task.
+         *
+         * @param array             The array to shift.
+         * @param k                 The number of indices to shift by, in (0, n).
+         * @param startCycle        The first cycle to rotate.
+         * @param endCycle          One past the last cycle to rotate.
+         * @param cyclesPerTask     The number of cycles below which a task
+         *                          runs serially.
+         */
+        public CyclesTask(int[] array, int k, int startCycle, int endCycle, int cyclesPerTask) {
+            this.array = array;
+            this.k = k;
+            this.startCycle = startCycle;
+            this.endCycle = endCycle;
+            this.cyclesPerTask = cyclesPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (endCycle - startCycle <= cyclesPerTask) {
+                AdaptiveRotation.rotateCycles(array, k, startCycle, endCycle);
+                return;
+            }
+
+            // Split on a multiple of cyclesPerTask so that blocks of cycles stay whole
+            int middle = startCycle + ((endCycle - startCycle) / cyclesPerTask / 2) * cyclesPerTask;
+
+            if (middle == startCycle) {
+                middle += cyclesPerTask;
+            }
+
+            invokeAll(new CyclesTask(array, k, startCycle, middle, cyclesPerTask),
+                      new CyclesTask(array, k, middle, endCycle, cyclesPerTask));
+        }
+    }
+
+    /**
+     * This class runs the three reversals of the reversal algorithm.
+     */
+    private static class RotateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int k;
+        private final int threshold;
+
+        /**
+         * Creates a new task.
+         *
+         * @param array         The array to shift.
+         * @param k             The number of indices to shift by, in (0, n).
+         * @param threshold     The number of elements below which work is
+         *                      done serially.
+         */
+        public RotateTask(int[] array, int k, int threshold) {
+            this.array = array;
+            this.k = k;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n = array.length;
+
+            invokeAll(new ReverseTask(array, 0, k - 1, 0, k / 2, threshold),
+                      new ReverseTask(array, k, n - 1, 0, (n - k) / 2, threshold));
+            new ReverseTask(array, 0, n - 1, 0, n / 2, threshold).compute();
+        }
+    }
+
+    /**
+     * This class reverses a subarray by swapping elements startIndex + i and
+     * endIndex - i for each i in a range.  The swaps are independent, so the
+     * range is split in half until each piece is small enough.
+     */
+    private static class ReverseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int startIndex;
+        private final int endIndex;
+        private final int startSwap;
+        private final int endSwap;
+        private final int threshold;
+
+        /**
+         * Creates a new task.
+         *
+         * @param array         The array to reverse.
+         * @param startIndex    The start index of the subarray to reverse.
+         * @param endIndex      The end index of the subarray to reverse.
+         * @param startSwap     The first swap to perform.
+         * @param endSwap       One past the last swap to perform.
+         * @param threshold     The number of elements below which work is
+         *                      done serially.
+         */
+        public ReverseTask(int[] array, int startIndex, int endIndex, int startSwap, int endSwap, int threshold) {
+            this.array = array;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.startSwap = startSwap;
+            this.endSwap = endSwap;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            // Each swap touches two elements
+            if (endSwap - startSwap <= Math.max(threshold / 2, 1)) {
+                for (int i = startSwap; i < endSwap; i++) {
+                    ReversalAlgorithm.swap(array, startIndex + i, endIndex - i);
+                }
+
+                return;
+            }
+
+            int middle = (startSwap + endSwap) >>> 1;
+
+            invokeAll(new ReverseTask(array, startIndex, endIndex, startSwap, middle, threshold),
+                      new ReverseTask(array, startIndex, endIndex, middle, endSwap, threshold));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This program provides a rotated view of an int array.  Instead of moving
+ * elements, it keeps the index in the array of the first element of the
+ * view, so rotating takes O(1) time.  Indexed access takes O(1) time,
+ * copying the view out takes two System.arraycopy calls, and the array is
+ * only rearranged when materialize() is called.
+ *
+ * The view can also hold fewer elements than the length of the array, which
+ * makes it a fixed-capacity ring buffer: push() adds an element at the end
+ * (evicting the first one if the buffer is full) and removeFirst() removes
+ * the first one, both in O(1) time.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class RotatedIntArray {
+    private final int[] array;
+
+    /** The index in the array of the first element of the view. */
+    private int offset;
+
+    /** The number of elements in the view. */
+    private int size;
+
+    /**
+     * Runs the program with an example array and an example ring buffer.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        RotatedIntArray view = new RotatedIntArray(new int[] { 1, 2, 3, 4, 5, 6, 7 });
+        view.rotateLeft(2);
+        System.out.println("Rotated view: " + view);
+
+        RotatedIntArray window = new RotatedIntArray(3);
+
+        for (int i = 1; i <= 5; i++) {
+            window.push(i * 10);
+            System.out.println("Window after pushing " + (i * 10) + ": " + window);
+        }
+    }
+
+    /**
+     * Creates a view of all of the elements of an array.  The array is not
+     * copied, so changes to the view write through to it.
+     *
+     * @param array     The array to view.
+     */
+    public RotatedIntArray(int[] array) {
+        this.array = array;
+        this.offset = 0;
+        this.size = array.length;
+    }
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity  The largest number of elements the buffer can hold.
+     */
+    public RotatedIntArray(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+
+        this.array = new int[capacity];
+        this.offset = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return      The number of elements in the view.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return      The largest number of elements the view can hold.
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * @return      True if the view holds no elements and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return      True if the view holds capacity() elements and false
+     *              otherwise.
+     */
+    public boolean isFull() {
+        return size == array.length;
+    }
+
+    /**
+     * Rotates all of the elements in the view left by the given k value.
+     * If k is negative, it rotates the elements right.  No elements are
+     * moved.
+     *
+     * @param k     The number of indices by which to shift the view.
+     */
+    public void rotateLeft(int k) {
+        if (!isFull()) {
+            throw new IllegalStateException("Only a full view can be rotated (" + size + " of " + array.length + " elements)");
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        // Ensure k is in interval [0, n)
+        k = ((k % size) + size) % size;
+
+        offset = physicalIndex(k);
+    }
+
+    /**
+     * Gets an element of the view.
+     *
+     * @param index     The index in the view, in [0, size()).
+     * @return          The element at that index.
+     */
+    public int get(int index) {
+        checkIndex(index);
+
+        return array[physicalIndex(index)];
+    }
+
+    /**
+     * Sets an element of the view.
+     *
+     * @param index     The index in the view, in [0, size()).
+     * @param value     The new value of the element.
+     */
+    public void set(int index, int value) {
+        checkIndex(index);
+
+        array[physicalIndex(index)] = value;
+    }
+
+    /**
+     * Adds an element to the end of the view.  If the view is full, the
+     * first element is evicted to make room.
+     *
+     * @param value     The element to add.
+     */
+    public void push(int value) {
+        if (array.length == 0) {
+            return;
+        }
+
+        if (isFull()) {
+            // Overwrite the first element, which becomes the last
+            array[offset] = value;
+            offset = physicalIndex(1);
+        } else {
+            array[physicalIndex(size)] = value;
+            size++;
+        }
+    }
+
+    /**
+     * Removes the first element of the view.
+     *
+     * @return      The element that was removed.
+     */
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The view is empty");
+        }
+
+        int value = array[offset];
+        offset = (size == 1) ? 0 : physicalIndex(1);
+        size--;
+
+        return value;
+    }
+
+    /**
+     * Copies the elements of the view, in order, to another array.  This
+     * takes at most two System.arraycopy calls: one for the elements before
+     * the end of the backing array and one for the elements that wrap
+     * around to its start.
+     *
+     * @param dest      The array to copy to.
+     * @param destPos   The index in dest to copy the first element to.
+     */
+    public void copyTo(int[] dest, int destPos) {
+        int firstSpan = Math.min(size, array.length - offset);
+
+        System.arraycopy(array, offset, dest, destPos, firstSpan);
+        System.arraycopy(array, 0, dest, destPos + firstSpan, size - firstSpan);
+    }
+
+    /**
+     * @return      A new array holding the elements of the view, in order.
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        copyTo(result, 0);
+
+        return result;
+    }
+
+    /**
+     * Rearranges the backing array so that the elements of the view are
+     * stored in order starting at index 0.  This takes O(n) time and is the
+     * only operation that moves elements.
+     *
+     * @return      The backing array.
+     */
+    public int[] materialize() {
+        if (offset != 0) {
+            AdaptiveRotation.rotateArrayLeft(array, offset);
+            offset = 0;
+        }
+
+        return array;
+    }
+
+    /**
+     * @return      The elements of the view, in order.
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Converts an index in the view to an index in the backing array.
+     *
+     * @param index     The index in the view, in [0, capacity()].
+     * @return          The index in the backing array.
+     */
+    private int physicalIndex(int index) {
+        // Subtract first so that the sum cannot overflow
+        int physicalIndex = offset - array.length + index;
+
+        return (physicalIndex < 0) ? physicalIndex + array.length : physicalIndex;
+    }
+
+    /**
+     * Ensures that the given index is in [0, size()).
+     *
+     * @param index     The index in the view.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index must be in [0, " + size + "): " + index);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,413 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This program rotates the elements of arrays of any type, lists, and byte
+ * buffers left by a given k value.  Each method runs in O(n) time and uses
+ * O(1) additional space, with no boxing: the primitive and object arrays use
+ * the reversal algorithm on their own element type, int arrays use
+ * AdaptiveRotation (whose buffer is bounded by a constant), lists use
+ * Collections.rotate, and byte buffers reverse eight bytes at a time.  If k
+ * is negative, the elements are rotated right.  Empty and null inputs are
+ * left alone.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class Rotation {
+    /**
+     * Runs the program with example inputs.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        long[] longs = new long[] { 1, 2, 3, 4, 5, 6, 7 };
+        String[] strings = new String[] { "a", "b", "c", "d", "e" };
+        ByteBuffer buffer = ByteBuffer.allocateDirect(20);
+
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) i);
+        }
+
+        rotateLeft(longs, 2);
+        rotateLeft(strings, -1);
+        rotateLeft(buffer, 3);
+
+        System.out.println(Arrays.toString(longs));
+        System.out.println(Arrays.toString(strings));
+
+        for (int i = 0; i < buffer.capacity(); i++) {
+            System.out.print(buffer.get(i) + " ");
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(int[] array, int k) {
+        AdaptiveRotation.rotateArrayLeft(array, k);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(long[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(short[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(byte[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(char[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(float[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(double[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static void rotateLeft(boolean[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in an array left by the given k value.
+     *
+     * @param array The array to shift.
+     * @param k     The number of indices by which to shift the array.
+     */
+    public static <T> void rotateLeft(T[] array, int k) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+
+        int n = array.length;
+        k = normalize(k, n);
+
+        reverse(array, 0, k - 1);
+        reverse(array, k, n - 1);
+        reverse(array, 0, n - 1);
+    }
+
+    /**
+     * Rotates all of the elements in a list left by the given k value.
+     * Collections.rotate works in place, moving elements along the cycles of
+     * the rotation for random-access lists and reversing sublists otherwise.
+     *
+     * @param list  The list to shift.
+     * @param k     The number of indices by which to shift the list.
+     */
+    public static void rotateLeft(List<?> list, int k) {
+        if (list == null) {
+            return;
+        }
+
+        Collections.rotate(list, -k);
+    }
+
+    /**
+     * Rotates the bytes between the position and the limit of a buffer left
+     * by the given k value.  The position and limit are not changed.
+     *
+     * @param buffer    The buffer to shift (heap or direct).
+     * @param k         The number of bytes by which to shift the buffer.
+     */
+    public static void rotateLeft(ByteBuffer buffer, int k) {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return;
+        }
+
+        int start = buffer.position();
+        int n = buffer.remaining();
+        k = normalize(k, n);
+
+        reverse(buffer, start, start + k - 1);
+        reverse(buffer, start + k, start + n - 1);
+        reverse(buffer, start, start + n - 1);
+    }
+
+    /**
+     * Ensures that k is in the interval [0, n).
+     *
+     * @param k     The number of indices to shift by.
+     * @param n     The number of elements (at least 1).
+     * @return      The equivalent left shift in [0, n).
+     */
+    private static int normalize(int k, int n) {
+        return ((k % n) + n) % n;
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(long[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            long temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(short[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            short temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(byte[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            byte temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(char[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            char temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(float[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            float temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(double[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            double temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static void reverse(boolean[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            boolean temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the elements of an array from the given start index to the
+     * given end index.
+     *
+     * @param array         The array to reverse.
+     * @param startIndex    The start index of the subarray to reverse.
+     * @param endIndex      The end index of the subarray to reverse.
+     */
+    private static <T> void reverse(T[] array, int startIndex, int endIndex) {
+        for (int leftIndex = startIndex, rightIndex = endIndex; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            T temp = array[leftIndex];
+            array[leftIndex] = array[rightIndex];
+            array[rightIndex] = temp;
+        }
+    }
+
+    /**
+     * Reverses the bytes of a buffer from the given start index to the given
+     * end index.  While the two ends are at least 16 bytes apart, eight bytes
+     * are swapped from each end at once by reading them as longs and
+     * reversing their byte order.
+     *
+     * @param buffer        The buffer to reverse.
+     * @param startIndex    The start index of the range to reverse.
+     * @param endIndex      The end index of the range to reverse.
+     */
+    private static void reverse(ByteBuffer buffer, int startIndex, int endIndex) {
+        int leftIndex = startIndex;
+        int rightIndex = endIndex;
+
+        for (; rightIndex - leftIndex >= 15; leftIndex += 8, rightIndex -= 8) {
+            long left = buffer.getLong(leftIndex);
+            long right = buffer.getLong(rightIndex - 7);
+            buffer.putLong(leftIndex, Long.reverseBytes(right));
+            buffer.putLong(rightIndex - 7, Long.reverseBytes(left));
+        }
+
+        for (; leftIndex < rightIndex; leftIndex++, rightIndex--) {
+            byte temp = buffer.get(leftIndex);
+            buffer.put(leftIndex, buffer.get(rightIndex));
+            buffer.put(rightIndex, temp);
+        }
+    }
+}
\ No newline at end of file
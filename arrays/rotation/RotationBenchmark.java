@@ -0,0 +1,108 @@
+/**
+ * This program measures the throughput (in millions of elements per second)
+ * of ReversalAlgorithm, BlockSwapAlgorithm, JugglingAlgorithm,
+ * AdaptiveRotation, and ParallelRotation on arrays from 1K elements up to a
+ * configurable maximum.  For each size it rotates by a small k, by a k that
+ * shares a large factor with n, and by a k that is coprime to n.  Every
+ * result is checked.
+ *
+ * The optional first argument is log2 of the largest array size (default 24,
+ * at most 30).  Sizes of 2^28 and up need a heap of several gigabytes.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class RotationBenchmark {
+    /** The names of the algorithms being compared. */
+    private static final String[] ALGORITHMS = { "Reversal", "BlockSwap", "Juggling", "Adaptive", "Parallel" };
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int maxLog = (args.length > 0) ? Math.min(Integer.parseInt(args[0]), 30) : 24;
+
+        System.out.printf("%12s %12s %12s %12s %12s %12s %12s%n", "n", "k", ALGORITHMS[0], ALGORITHMS[1], ALGORITHMS[2], ALGORITHMS[3], ALGORITHMS[4]);
+
+        for (int log = 10; log <= maxLog; log += 2) {
+            int n = 1 << log;
+            int[] array = new int[n];
+            int[] ks = { 7, n / 4 + 16, n / 2 - 1 };
+
+            for (int k : ks) {
+                StringBuilder line = new StringBuilder(String.format("%12d %12d", n, k));
+
+                for (int algorithm = 0; algorithm < ALGORITHMS.length; algorithm++) {
+                    line.append(String.format(" %12s", measure(array, k, algorithm)));
+                }
+
+                System.out.println(line);
+            }
+        }
+    }
+
+    /**
+     * Measures the best throughput of an algorithm over several runs.
+     *
+     * @param array         The array to rotate.
+     * @param k             The number of indices to rotate by.
+     * @param algorithm     The index of the algorithm in ALGORITHMS.
+     * @return              The throughput in millions of elements per second.
+     */
+    private static String measure(int[] array, int k, int algorithm) {
+        int n = array.length;
+
+        // Repeat small arrays enough times to get a measurable duration
+        int runs = Math.max(3, (1 << 22) / n);
+        long best = Long.MAX_VALUE;
+
+        for (int run = 0; run < runs; run++) {
+            for (int i = 0; i < n; i++) {
+                array[i] = i;
+            }
+
+            long start = System.nanoTime();
+
+            rotate(array, k, algorithm);
+
+            best = Math.min(best, System.nanoTime() - start);
+
+            for (int i = 0; i < n; i++) {
+                if (array[i] != (int) ((i + (long) k) % n)) {
+                    throw new IllegalStateException(ALGORITHMS[algorithm] + " rotated " + n + " elements by " + k + " incorrectly");
+                }
+            }
+        }
+
+        return String.format("%.1f", n * 1000.0 / Math.max(best, 1));
+    }
+
+    /**
+     * Rotates an array left with the given algorithm.
+     *
+     * @param array         The array to rotate.
+     * @param k             The number of indices to rotate by.
+     * @param algorithm     The index of the algorithm in ALGORITHMS.
+     */
+    private static void rotate(int[] array, int k, int algorithm) {
+        switch (algorithm) {
+            case 0:
+                ReversalAlgorithm.rotateArrayLeft(array, k);
+                break;
+            case 1:
+                BlockSwapAlgorithm.rotateArrayLeft(array, k);
+                break;
+            case 2:
+                JugglingAlgorithm.rotateArrayLeft(array, k);
+                break;
+            case 3:
+                AdaptiveRotation.rotateArrayLeft(array, k);
+                break;
+            default:
+                ParallelRotation.rotateArrayLeft(array, k);
+                break;
+        }
+    }
+}
\ No newline at end of file
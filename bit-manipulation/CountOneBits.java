@@ -1,13 +1,25 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 /**
  * This program counts the number of bits set to one in an integer.
  * If n is the number of bits in the original number, then this runs
  * in O(n^2) time.  If n is the value of the number, then this runs
- * in O(lg^2 n) time.
+ * in O(lg^2 n) time.  It also counts the bits in whole arrays, buffers,
+ * and files of words using the hardware population count (through
+ * Long.bitCount), or a Harley-Seal carry-save adder tree that only needs
+ * one population count per 16 words.
  *
  * @author      John Kurlak <john@kurlak.com>
  * @date        1/20/2013
  */
 public class CountOneBits {
+    /** The number of bytes of a file to map at a time. */
+    private static final long MAPPED_CHUNK_SIZE = 1 << 30;
+
     /**
      * Runs the program with an example number.
      *
@@ -16,6 +28,14 @@ public class CountOneBits {
     public static void main(String[] args) {
         int num = 30;
         System.out.println("There are " + countOneBits(num) + " bits in the binary representation of " + num + ".");
+
+        long[] words = new long[1 << 20];
+
+        for (int i = 0; i < words.length; i++) {
+            words[i] = i * 0x9E3779B97F4A7C15L;
+        }
+
+        System.out.println("There are " + countOneBits(words) + " bits set in an array of " + words.length + " longs.");
     }
 
     /**
@@ -27,7 +47,9 @@ public class CountOneBits {
     public static int countOneBits(int num) {
         int count = 0;
 
-        while (num > 0) {
+        // Compare against zero (rather than checking for positive numbers) so
+        // that negative numbers, whose sign bit is set, are counted too
+        while (num != 0) {
             count++;
 
             // Shift number right until least significant 1 is removed
@@ -36,4 +58,165 @@ public class CountOneBits {
 
         return count;
     }
+
+    /**
+     * Counts the number of 1s in the binary representation of the given long.
+     *
+     * @param num       The input number.
+     */
+    public static int countOneBits(long num) {
+        return Long.bitCount(num);
+    }
+
+    /**
+     * Counts the number of 1s in all of the given words.
+     *
+     * @param words     The words.
+     * @return          The total number of bits set.
+     */
+    public static long countOneBits(long[] words) {
+        return countOneBits(words, 0, words.length);
+    }
+
+    /**
+     * Counts the number of 1s in a range of the given words.  Long.bitCount
+     * compiles to the hardware population count instruction where there is
+     * one, which keeps this loop limited by memory bandwidth.
+     *
+     * @param words         The words.
+     * @param fromIndex     The index of the first word to count.
+     * @param toIndex       One past the index of the last word to count.
+     * @return              The total number of bits set.
+     */
+    public static long countOneBits(long[] words, int fromIndex, int toIndex) {
+        long count = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            count += Long.bitCount(words[i]);
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the number of 1s in all of the given words.
+     *
+     * @param words     The words.
+     * @return          The total number of bits set.
+     */
+    public static long countOneBits(int[] words) {
+        long count = 0;
+        int i = 0;
+
+        // Count two ints at a time with a single 64-bit population count
+        for (; i + 1 < words.length; i += 2) {
+            count += Long.bitCount(((long) words[i] << 32) | (words[i + 1] & 0xFFFFFFFFL));
+        }
+
+        if (i < words.length) {
+            count += Integer.bitCount(words[i]);
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the number of 1s in the remaining bytes of the given buffer
+     * (from its position to its limit).  This works for heap, direct, and
+     * memory-mapped buffers, and it does not change the buffer's position.
+     *
+     * @param buffer    The buffer.
+     * @return          The total number of bits set.
+     */
+    public static long countOneBits(ByteBuffer buffer) {
+        long count = 0;
+        int index = buffer.position();
+        int limit = buffer.limit();
+
+        // The byte order does not change the number of bits set
+        for (; index + 8 <= limit; index += 8) {
+            count += Long.bitCount(buffer.getLong(index));
+        }
+
+        for (; index < limit; index++) {
+            count += Integer.bitCount(buffer.get(index) & 0xFF);
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the number of 1s in a file by memory-mapping it in chunks.
+     *
+     * @param file      The file.
+     * @return          The total number of bits set.
+     */
+    public static long countOneBits(Path file) throws IOException {
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            for (long position = 0; position < size; position += MAPPED_CHUNK_SIZE) {
+                long chunkSize = Math.min(MAPPED_CHUNK_SIZE, size - position);
+                count += countOneBits(channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize));
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the number of 1s in a range of the given words using a
+     * Harley-Seal carry-save adder tree.  Sixteen words at a time are added
+     * into running "ones", "twos", "fours", and "eights" words, so only the
+     * resulting "sixteens" word needs a population count.  This is about
+     * twice as fast as countOneBits on hardware (or JVM settings) without a
+     * population count instruction, and no faster on hardware with one.
+     *
+     * @param words         The words.
+     * @param fromIndex     The index of the first word to count.
+     * @param toIndex       One past the index of the last word to count.
+     * @return              The total number of bits set.
+     */
+    public static long countOneBitsHarleySeal(long[] words, int fromIndex, int toIndex) {
+        long total = 0;
+        long ones = 0;
+        long twos = 0;
+        long fours = 0;
+        long eights = 0;
+        int i = fromIndex;
+
+        for (; i + 16 <= toIndex; i += 16) {
+            long twosA, twosB, foursA, foursB, eightsA, eightsB, sixteens, u, v;
+
+            // Each step is a full adder: (high, low) = a + b + low
+            u = ones ^ words[i];        v = words[i + 1];      twosA = (ones & words[i]) | (u & v);        ones = u ^ v;
+            u = ones ^ words[i + 2];    v = words[i + 3];      twosB = (ones & words[i + 2]) | (u & v);    ones = u ^ v;
+            u = twos ^ twosA;           foursA = (twos & twosA) | (u & twosB);                             twos = u ^ twosB;
+            u = ones ^ words[i + 4];    v = words[i + 5];      twosA = (ones & words[i + 4]) | (u & v);    ones = u ^ v;
+            u = ones ^ words[i + 6];    v = words[i + 7];      twosB = (ones & words[i + 6]) | (u & v);    ones = u ^ v;
+            u = twos ^ twosA;           foursB = (twos & twosA) | (u & twosB);                             twos = u ^ twosB;
+            u = fours ^ foursA;         eightsA = (fours & foursA) | (u & foursB);                         fours = u ^ foursB;
+            u = ones ^ words[i + 8];    v = words[i + 9];      twosA = (ones & words[i + 8]) | (u & v);    ones = u ^ v;
+            u = ones ^ words[i + 10];   v = words[i + 11];     twosB = (ones & words[i + 10]) | (u & v);   ones = u ^ v;
+            u = twos ^ twosA;           foursA = (twos & twosA) | (u & twosB);                             twos = u ^ twosB;
+            u = ones ^ words[i + 12];   v = words[i + 13];     twosA = (ones & words[i + 12]) | (u & v);   ones = u ^ v;
+            u = ones ^ words[i + 14];   v = words[i + 15];     twosB = (ones & words[i + 14]) | (u & v);   ones = u ^ v;
+            u = twos ^ twosA;           foursB = (twos & twosA) | (u & twosB);                             twos = u ^ twosB;
+            u = fours ^ foursA;         eightsB = (fours & foursA) | (u & foursB);                         fours = u ^ foursB;
+            u = eights ^ eightsA;       sixteens = (eights & eightsA) | (u & eightsB);                     eights = u ^ eightsB;
+
+            total += Long.bitCount(sixteens);
+        }
+
+        total = 16 * total + 8 * Long.bitCount(eights) + 4 * Long.bitCount(fours)
+                + 2 * Long.bitCount(twos) + Long.bitCount(ones);
+
+        for (; i < toIndex; i++) {
+            total += Long.bitCount(words[i]);
+        }
+
+        return total;
+    }
 }
\ No newline at end of file
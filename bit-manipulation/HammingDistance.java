@@ -0,0 +1,351 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This program computes Hamming distances (the number of bits that differ)
+ * between fixed-size fingerprints packed into long arrays.  Fingerprint i of
+ * a database occupies words [i * w, (i + 1) * w).  Scanning n fingerprints of
+ * w words against a query takes O(n w) time, and finding the k nearest
+ * fingerprints takes O(n w + n lg k) time.  Both scans can be split across a
+ * fork-join pool.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class HammingDistance {
+    /** The number of fingerprints below which a task scans serially. */
+    private static final int FINGERPRINTS_PER_TASK = 1 << 12;
+
+    /**
+     * Runs the program with an example database of 256-bit fingerprints.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int words = 4;
+        long[] database = new long[words * 100000];
+
+        for (int i = 0; i < database.length; i++) {
+            database[i] = i * 0x9E3779B97F4A7C15L;
+        }
+
+        long[] query = Arrays.copyOfRange(database, 42 * words, 43 * words);
+        query[0] ^= 0x5;
+
+        int[] nearest = nearest(query, database, words, 3, ForkJoinPool.commonPool());
+
+        for (int index : nearest) {
+            System.out.println("Fingerprint " + index + " is at distance " + distance(query, 0, database, index * words, words) + ".");
+        }
+    }
+
+    /**
+     * Computes the Hamming distance between two fingerprints of the same
+     * length.
+     *
+     * @param a     The first fingerprint.
+     * @param b     The second fingerprint.
+     * @return      The number of bits that differ.
+     */
+    public static int distance(long[] a, long[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Fingerprints have different lengths: " + a.length + " and " + b.length);
+        }
+
+        return distance(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Computes the Hamming distance between two fingerprints stored in
+     * larger arrays.
+     *
+     * @param a         The array holding the first fingerprint.
+     * @param aOffset   The index of the first word of the first fingerprint.
+     * @param b         The array holding the second fingerprint.
+     * @param bOffset   The index of the first word of the second fingerprint.
+     * @param words     The number of words in each fingerprint.
+     * @return          The number of bits that differ.
+     */
+    public static int distance(long[] a, int aOffset, long[] b, int bOffset, int words) {
+        int distance = 0;
+
+        for (int i = 0; i < words; i++) {
+            distance += CountOneBits.countOneBits(a[aOffset + i] ^ b[bOffset + i]);
+        }
+
+        return distance;
+    }
+
+    /**
+     * Computes the Hamming distance from a query to every fingerprint in a
+     * database.
+     *
+     * @param query     The query fingerprint.
+     * @param database  The packed fingerprints.
+     * @param words     The number of words in each fingerprint.
+     * @param pool      The pool to scan on, or null to scan serially.
+     * @return          An array where index i holds the distance from the
+     *                  query to fingerprint i.
+     */
+    public static int[] distances(long[] query, long[] database, int words, ForkJoinPool pool) {
+        int[] distances = new int[numFingerprints(query, database, words)];
+        DistancesTask task = new DistancesTask(query, database, words, distances, 0, distances.length);
+
+        if (pool == null) {
+            task.computeSerially();
+        } else {
+            pool.invoke(task);
+        }
+
+        return distances;
+    }
+
+    /**
+     * Finds the k fingerprints in a database that are nearest to a query.
+     *
+     * @param query     The query fingerprint.
+     * @param database  The packed fingerprints.
+     * @param words     The number of words in each fingerprint.
+     * @param k         The number of fingerprints to find.
+     * @param pool      The pool to scan on, or null to scan serially.
+     * @return          The indices of the nearest fingerprints, nearest
+     *                  first (ties go to the lower index).
+     */
+    public static int[] nearest(long[] query, long[] database, int words, int k, ForkJoinPool pool) {
+        int numFingerprints = numFingerprints(query, database, words);
+
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+
+        NearestTask task = new NearestTask(query, database, words, Math.min(k, numFingerprints), 0, numFingerprints);
+        long[] nearest = (pool == null) ? task.computeSerially() : pool.invoke(task);
+        int[] indices = new int[nearest.length];
+
+        for (int i = 0; i < nearest.length; i++) {
+            indices[i] = (int) nearest[i];
+        }
+
+        return indices;
+    }
+
+    /**
+     * Validates the arguments of a scan and counts the fingerprints.
+     *
+     * @param query     The query fingerprint.
+     * @param database  The packed fingerprints.
+     * @param words     The number of words in each fingerprint.
+     * @return          The number of fingerprints in the database.
+     */
+    private static int numFingerprints(long[] query, long[] database, int words) {
+        if (words <= 0 || query.length != words || database.length % words != 0) {
+            throw new IllegalArgumentException("The query and database must be made of " + words + "-word fingerprints.");
+        }
+
+        return database.length / words;
+    }
+
+    /**
+     * This class computes the distances to a range of fingerprints, splitting
+     * the range in half until each piece is small enough to scan serially.
+     */
+    private static class DistancesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] query;
+        private final long[] database;
+        private final int words;
+        private final int[] distances;
+        private final int start;
+        private final int end;
+
+        /**
+         * Creates a new task.
+         *
+         * @param query         The query fingerprint.
+         * @param database      The packed fingerprints.
+         * @param words         The number of words in each fingerprint.
+         * @param distances     The array to store distances in.
+         * @param start         The first fingerprint to scan.
+         * @param end           One past the last fingerprint to scan.
+         */
+        public DistancesTask(long[] query, long[] database, int words, int[] distances, int start, int end) {
+            this.query = query;
+            this.database = database;
+            this.words = words;
+            this.distances = distances;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= FINGERPRINTS_PER_TASK) {
+                computeSerially();
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+
+            invokeAll(new DistancesTask(query, database, words, distances, start, middle),
+                      new DistancesTask(query, database, words, distances, middle, end));
+        }
+
+        /**
+         * Scans this task's range on the current thread.
+         */
+        public void computeSerially() {
+            for (int i = start, offset = start * words; i < end; i++, offset += words) {
+                distances[i] = distance(query, 0, database, offset, words);
+            }
+        }
+    }
+
+    /**
+     * This class finds the nearest fingerprints in a range, splitting the
+     * range in half and merging the results of each half.  Each result is a
+     * sorted array of (distance << 32 | index) values, so comparing the
+     * values orders by distance and then by index.
+     */
+    private static class NearestTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] query;
+        private final long[] database;
+        private final int words;
+        private final int k;
+        private final int start;
+        private final int end;
+
+        /**
+         * Creates a new task.
+         *
+         * @param query         The query fingerprint.
+         * @param database      The packed fingerprints.
+         * @param words         The number of words in each fingerprint.
+         * @param k             The number of fingerprints to find.
+         * @param start         The first fingerprint to scan.
+         * @param end           One past the last fingerprint to scan.
+         */
+        public NearestTask(long[] query, long[] database, int words, int k, int start, int end) {
+            this.query = query;
+            this.database = database;
+            this.words = words;
+            this.k = k;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start <= FINGERPRINTS_PER_TASK) {
+                return computeSerially();
+            }
+
+            int middle = (start + end) >>> 1;
+            NearestTask left = new NearestTask(query, database, words, k, start, middle);
+            NearestTask right = new NearestTask(query, database, words, k, middle, end);
+
+            left.fork();
+            long[] rightNearest = right.compute();
+
+            return merge(left.join(), rightNearest);
+        }
+
+        /**
+         * Scans this task's range on the current thread, keeping the k nearest
+         * fingerprints in a max-heap.
+         *
+         * @return      The k nearest fingerprints in this range, sorted.
+         */
+        public long[] computeSerially() {
+            int count = Math.min(k, end - start);
+            long[] heap = new long[count];
+            int size = 0;
+
+            if (count == 0) {
+                return heap;
+            }
+
+            for (int i = start, offset = start * words; i < end; i++, offset += words) {
+                long entry = ((long) distance(query, 0, database, offset, words) << 32) | i;
+
+                if (size < count) {
+                    heap[size++] = entry;
+                    siftUp(heap, size - 1);
+                } else if (entry < heap[0]) {
+                    heap[0] = entry;
+                    siftDown(heap, size);
+                }
+            }
+
+            Arrays.sort(heap);
+
+            return heap;
+        }
+
+        /**
+         * Merges two sorted arrays, keeping the k smallest values.
+         *
+         * @param a     The first sorted array.
+         * @param b     The second sorted array.
+         * @return      The k smallest values of both arrays, sorted.
+         */
+        private long[] merge(long[] a, long[] b) {
+            long[] merged = new long[Math.min(k, a.length + b.length)];
+
+            for (int i = 0, j = 0, m = 0; m < merged.length; m++) {
+                merged[m] = (j == b.length || (i < a.length && a[i] < b[j])) ? a[i++] : b[j++];
+            }
+
+            return merged;
+        }
+
+        /**
+         * Moves a value up a max-heap until its parent is larger.
+         *
+         * @param heap      The heap.
+         * @param index     The index of the value to move.
+         */
+        private static void siftUp(long[] heap, int index) {
+            long value = heap[index];
+
+            while (index > 0 && heap[(index - 1) >>> 1] < value) {
+                heap[index] = heap[(index - 1) >>> 1];
+                index = (index - 1) >>> 1;
+            }
+
+            heap[index] = value;
+        }
+
+        /**
+         * Moves the root of a max-heap down until its children are smaller.
+         *
+         * @param heap      The heap.
+         * @param size      The number of values in the heap.
+         */
+        private static void siftDown(long[] heap, int size) {
+            long value = heap[0];
+            int index = 0;
+
+            while (2 * index + 1 < size) {
+                int child = 2 * index + 1;
+
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+
+                if (heap[child] <= value) {
+                    break;
+                }
+
+                heap[index] = heap[child];
+                index = child;
+            }
+
+            heap[index] = value;
+        }
+    }
+}
\ No newline at end of file
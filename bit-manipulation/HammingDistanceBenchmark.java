@@ -0,0 +1,84 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This program compares three ways of scanning a database of fingerprints
+ * for Hamming distances: a scalar loop built on the original
+ * CountOneBits.countOneBits(int) routine, the serial HammingDistance scan
+ * (which uses the hardware population count), and the parallel
+ * HammingDistance scan.  It covers 256-, 512-, and 1024-bit fingerprints.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class HammingDistanceBenchmark {
+    /**
+     * Runs the benchmark.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int numFingerprints = 1 << 20;
+        Random random = new Random(42);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        for (int words = 4; words <= 16; words *= 2) {
+            long[] database = new long[numFingerprints * words];
+            long[] query = new long[words];
+
+            for (int i = 0; i < database.length; i++) {
+                database[i] = random.nextLong();
+            }
+
+            for (int i = 0; i < words; i++) {
+                query[i] = random.nextLong();
+            }
+
+            long scalarTime = Long.MAX_VALUE;
+            long serialTime = Long.MAX_VALUE;
+            long parallelTime = Long.MAX_VALUE;
+            long checksum = 0;
+
+            // Take the best of several runs so that the JIT has warmed up
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                checksum += scalarScan(query, database, words);
+                scalarTime = Math.min(scalarTime, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                checksum += HammingDistance.distances(query, database, words, null)[run];
+                serialTime = Math.min(serialTime, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                checksum += HammingDistance.distances(query, database, words, pool)[run];
+                parallelTime = Math.min(parallelTime, System.nanoTime() - start);
+            }
+
+            System.out.println((64 * words) + "-bit fingerprints: scalar " + (scalarTime / 1000000)
+                               + " ms, serial " + (serialTime / 1000000) + " ms, parallel "
+                               + (parallelTime / 1000000) + " ms (checksum " + checksum + ")");
+        }
+    }
+
+    /**
+     * Scans the database with the original Kernighan loop on each half of
+     * each word.
+     *
+     * @param query     The query fingerprint.
+     * @param database  The packed fingerprints.
+     * @param words     The number of words in each fingerprint.
+     * @return          The sum of the distances, so the scan is not optimized away.
+     */
+    private static long scalarScan(long[] query, long[] database, int words) {
+        long total = 0;
+
+        for (int offset = 0; offset < database.length; offset += words) {
+            for (int i = 0; i < words; i++) {
+                long difference = query[i] ^ database[offset + i];
+                total += CountOneBits.countOneBits((int) difference) + CountOneBits.countOneBits((int) (difference >>> 32));
+            }
+        }
+
+        return total;
+    }
+}
\ No newline at end of file
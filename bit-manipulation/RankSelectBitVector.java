@@ -0,0 +1,414 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * This program answers rank queries ("how many ones are before position i")
+ * in O(1) time and select queries ("where is the jth one") in nearly O(1)
+ * time on a bit vector (O(lg n) for a very sparse one, where a binary
+ * search finds the superblock between two select samples).  It uses a
+ * two-level rank directory (a long count for each 65,536-bit superblock and
+ * a 16-bit count for each 512-bit block) plus a sample of the block holding
+ * every 8,192nd one, which adds about 3.6% to the size of the bit vector.
+ * The directory is built in one pass.
+ *
+ * The bits are read through pages of up to 2^27 words, so a bit vector can
+ * be built over a heap array or directly over a memory-mapped file of up to
+ * 64 GB without copying it.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class RankSelectBitVector {
+    /** The largest number of bits (a 64 GB file), which keeps the number of blocks within an int. */
+    public static final long MAX_LENGTH = 1L << 39;
+
+    /** log2 of the number of bits in a block. */
+    private static final int BLOCK_SHIFT = 9;
+
+    /** log2 of the number of bits in a superblock. */
+    private static final int SUPERBLOCK_SHIFT = 16;
+
+    /** The number of words in a block. */
+    private static final int WORDS_PER_BLOCK = 1 << (BLOCK_SHIFT - 6);
+
+    /** The number of blocks in a superblock. */
+    private static final int BLOCKS_PER_SUPERBLOCK = 1 << (SUPERBLOCK_SHIFT - BLOCK_SHIFT);
+
+    /** log2 of the number of ones between select samples. */
+    private static final int SELECT_SHIFT = 13;
+
+    /** log2 of the number of words in a page (each mapped page is 1 GB). */
+    private static final int PAGE_SHIFT = 27;
+
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+    /** The words holding the bits, split into pages. */
+    private final LongBuffer[] pages;
+
+    /** The number of words in the pages, and the word after them (for a partial last word of a file). */
+    private final long numPagedWords;
+    private final long lastWord;
+
+    private final long length;
+    private final long numOnes;
+
+    /** The number of ones before each superblock. */
+    private final long[] superblockRanks;
+
+    /** The number of ones between the start of its superblock and each block. */
+    private final char[] blockRanks;
+
+    /** The block that contains the (i * 2^SELECT_SHIFT)th one. */
+    private final int[] selectSamples;
+
+    /**
+     * Runs the program with an example bit vector.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        long[] words = new long[1 << 16];
+
+        for (int i = 0; i < words.length; i++) {
+            words[i] = i * 0x9E3779B97F4A7C15L;
+        }
+
+        RankSelectBitVector bits = new RankSelectBitVector(words, 64L * words.length);
+        long position = 1000000;
+        long rank = bits.rank1(position);
+
+        System.out.println("There are " + rank + " ones before position " + position + ".");
+        System.out.println("The one with index " + rank + " is at position " + bits.select1(rank) + ".");
+    }
+
+    /**
+     * Creates a bit vector over the given words.  Bit i is bit (i % 64) of
+     * words[i / 64].  The words are not copied, so they must not be changed
+     * afterward.
+     *
+     * @param words     The words holding the bits.
+     * @param length    The number of bits (at most 64 * words.length and
+     *                  MAX_LENGTH).
+     */
+    public RankSelectBitVector(long[] words, long length) {
+        this(wrap(words), words.length, 0, checkLength(length, Math.min(64L * words.length, MAX_LENGTH)));
+    }
+
+    /**
+     * Creates a bit vector over pages of words.
+     *
+     * @param pages             The pages.  Every page but the last holds
+     *                          2^PAGE_SHIFT words.
+     * @param numPagedWords     The number of words in the pages.
+     * @param lastWord          The word after the pages, which holds the
+     *                          bits of a partial last word of a file.
+     * @param length            The number of bits (at most
+     *                          64 * (numPagedWords + 1)).
+     */
+    private RankSelectBitVector(LongBuffer[] pages, long numPagedWords, long lastWord, long length) {
+        long numWords = (length + 63) >>> 6;
+        int numBlocks = (int) ((numWords + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK);
+
+        this.pages = pages;
+        this.numPagedWords = numPagedWords;
+        this.lastWord = lastWord;
+        this.length = length;
+        this.superblockRanks = new long[(numBlocks + BLOCKS_PER_SUPERBLOCK - 1) / BLOCKS_PER_SUPERBLOCK + 1];
+        this.blockRanks = new char[numBlocks + 1];
+
+        int[] samples = new int[16];
+        int numSamples = 0;
+        long ones = 0;
+        long superblockStart = 0;
+
+        for (int block = 0; block < numBlocks; block++) {
+            if (block % BLOCKS_PER_SUPERBLOCK == 0) {
+                superblockRanks[block / BLOCKS_PER_SUPERBLOCK] = ones;
+                superblockStart = ones;
+            }
+
+            blockRanks[block] = (char) (ones - superblockStart);
+
+            long blockOnes = 0;
+
+            for (long word = (long) block * WORDS_PER_BLOCK, end = Math.min(word + WORDS_PER_BLOCK, numWords); word < end; word++) {
+                blockOnes += CountOneBits.countOneBits(maskedWord(word));
+            }
+
+            // Record this block for every sampled one that it contains
+            while (((long) numSamples << SELECT_SHIFT) < ones + blockOnes) {
+                if (numSamples == samples.length) {
+                    samples = Arrays.copyOf(samples, samples.length * 2);
+                }
+
+                samples[numSamples++] = block;
+            }
+
+            ones += blockOnes;
+        }
+
+        // Add sentinels so that rank1(length) and the select search need no special cases
+        superblockRanks[superblockRanks.length - 1] = ones;
+        blockRanks[numBlocks] = (numBlocks % BLOCKS_PER_SUPERBLOCK == 0) ? 0 : (char) (ones - superblockStart);
+        this.numOnes = ones;
+        this.selectSamples = Arrays.copyOf(samples, numSamples);
+    }
+
+    /**
+     * Creates a bit vector over a file by memory-mapping it.  Bit i is bit
+     * (i % 8) of byte (i / 8) of the file.  The file is mapped in pages of
+     * 1 GB and read in place, so it is not copied into the heap and may be
+     * larger than 2 GB.  The file must not be changed afterward.
+     *
+     * @param file      The file holding the bits, of at most MAX_LENGTH / 8
+     *                  bytes.
+     * @return          A bit vector with 8 bits for every byte of the file.
+     */
+    public static RankSelectBitVector fromFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            checkLength(8 * size, MAX_LENGTH);
+
+            long numPagedWords = size / 8;
+            LongBuffer[] pages = new LongBuffer[(int) ((numPagedWords + PAGE_MASK) >>> PAGE_SHIFT)];
+
+            // The mappings stay valid after the channel is closed
+            for (int page = 0; page < pages.length; page++) {
+                long firstWord = (long) page << PAGE_SHIFT;
+                long pageWords = Math.min(1L << PAGE_SHIFT, numPagedWords - firstWord);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 8 * firstWord, 8 * pageWords);
+
+                pages[page] = buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+
+            // Read any trailing bytes that do not fill a whole word
+            ByteBuffer tail = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+
+            while (channel.read(tail, 8 * numPagedWords + tail.position()) > 0) {
+                // Keep reading until the end of the file
+            }
+
+            return new RankSelectBitVector(pages, numPagedWords, tail.getLong(0), 8 * size);
+        }
+    }
+
+    /**
+     * Splits an array of words into pages without copying it.
+     *
+     * @param words     The words.
+     * @return          The pages.
+     */
+    private static LongBuffer[] wrap(long[] words) {
+        LongBuffer[] pages = new LongBuffer[(words.length + PAGE_MASK) >>> PAGE_SHIFT];
+
+        for (int page = 0; page < pages.length; page++) {
+            int firstWord = page << PAGE_SHIFT;
+
+            pages[page] = LongBuffer.wrap(words, firstWord, Math.min(1 << PAGE_SHIFT, words.length - firstWord)).slice();
+        }
+
+        return pages;
+    }
+
+    /**
+     * @return      The number of bits in this bit vector.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return      The number of ones in this bit vector.
+     */
+    public long countOnes() {
+        return numOnes;
+    }
+
+    /**
+     * Gets the bit at the given position.
+     *
+     * @param position  The position, in [0, length).
+     * @return          True if the bit is one and false otherwise.
+     */
+    public boolean get(long position) {
+        checkPosition(position, length - 1);
+
+        return (word(position >>> 6) & (1L << position)) != 0;
+    }
+
+    /**
+     * Counts the ones before the given position.
+     *
+     * @param position  The position, in [0, length].
+     * @return          The number of ones in [0, position).
+     */
+    public long rank1(long position) {
+        checkPosition(position, length);
+
+        int block = (int) (position >>> BLOCK_SHIFT);
+        long word = position >>> 6;
+        long rank = superblockRanks[block / BLOCKS_PER_SUPERBLOCK] + blockRanks[block];
+
+        for (long i = (long) block * WORDS_PER_BLOCK; i < word; i++) {
+            rank += CountOneBits.countOneBits(word(i));
+        }
+
+        if ((position & 63) != 0) {
+            rank += CountOneBits.countOneBits(word(word) & ((1L << position) - 1));
+        }
+
+        return rank;
+    }
+
+    /**
+     * Counts the zeros before the given position.
+     *
+     * @param position  The position, in [0, length].
+     * @return          The number of zeros in [0, position).
+     */
+    public long rank0(long position) {
+        return position - rank1(position);
+    }
+
+    /**
+     * Finds the position of the jth one (counting from zero).
+     *
+     * @param j     The index of the one, in [0, countOnes()).
+     * @return      The position p such that get(p) is true and rank1(p) = j.
+     */
+    public long select1(long j) {
+        if (j < 0 || j >= numOnes) {
+            throw new IndexOutOfBoundsException("j must be in [0, " + numOnes + "): " + j);
+        }
+
+        // The jth one is between the sampled blocks before and after it
+        int sample = (int) (j >>> SELECT_SHIFT);
+        int block = selectSamples[sample];
+        int superblock = block / BLOCKS_PER_SUPERBLOCK;
+        int lastSuperblock = (sample + 1 < selectSamples.length) ? selectSamples[sample + 1] / BLOCKS_PER_SUPERBLOCK : superblockRanks.length - 2;
+
+        // Binary search for the last superblock that starts at or before j
+        if (superblock < lastSuperblock && superblockRanks[superblock + 1] <= j) {
+            int low = superblock + 1;
+            int high = lastSuperblock;
+
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+
+                if (superblockRanks[mid] <= j) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            superblock = low;
+            block = superblock * BLOCKS_PER_SUPERBLOCK;
+        }
+
+        // Binary search for the last block in the superblock that starts at or before j
+        long remaining = j - superblockRanks[superblock];
+        int low = block;
+        int high = Math.min((superblock + 1) * BLOCKS_PER_SUPERBLOCK, blockRanks.length - 1) - 1;
+
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+
+            if (blockRanks[mid] <= remaining) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        remaining -= blockRanks[low];
+
+        // Scan the words of the block
+        long word = (long) low * WORDS_PER_BLOCK;
+        int wordOnes = CountOneBits.countOneBits(word(word));
+
+        while (wordOnes <= remaining) {
+            remaining -= wordOnes;
+            wordOnes = CountOneBits.countOneBits(word(++word));
+        }
+
+        return (word << 6) + selectInWord(word(word), (int) remaining);
+    }
+
+    /**
+     * Finds the position of the kth one bit in a word.
+     *
+     * @param word  The word.
+     * @param k     The index of the one, in [0, bitCount(word)).
+     * @return      The position of the bit, in [0, 64).
+     */
+    private static int selectInWord(long word, int k) {
+        for (int i = 0; i < k; i++) {
+            // Clear the lowest one bit
+            word &= word - 1;
+        }
+
+        return Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Gets a word of the bit vector.
+     *
+     * @param word  The index of the word.
+     * @return      The word.
+     */
+    private long word(long word) {
+        if (word == numPagedWords) {
+            return lastWord;
+        }
+
+        return pages[(int) (word >>> PAGE_SHIFT)].get((int) (word & PAGE_MASK));
+    }
+
+    /**
+     * Gets a word with the bits past the end of the bit vector cleared.
+     *
+     * @param word  The index of the word.
+     * @return      The word, masked to the length of the bit vector.
+     */
+    private long maskedWord(long word) {
+        long end = length - (word << 6);
+
+        return (end >= 64) ? word(word) : word(word) & ((1L << end) - 1);
+    }
+
+    /**
+     * Ensures that the given length is in [0, max].
+     *
+     * @param length    The length.
+     * @param max       The largest allowed length.
+     * @return          The length.
+     */
+    private static long checkLength(long length, long max) {
+        if (length < 0 || length > max) {
+            throw new IllegalArgumentException("length must be in [0, " + max + "]: " + length);
+        }
+
+        return length;
+    }
+
+    /**
+     * Ensures that the given position is in [0, max].
+     *
+     * @param position  The position.
+     * @param max       The largest allowed position.
+     */
+    private static void checkPosition(long position, long max) {
+        if (position < 0 || position > max) {
+            throw new IndexOutOfBoundsException("position must be in [0, " + max + "]: " + position);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,405 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * This program filters large batches of decimal numbers down to the ones that
+ * are Fibonacci numbers.  Cheap filters run first so that only a few
+ * survivors need an exact test:
+ *
+ *   0. Inputs that are not positive decimal numbers (empty strings, signs,
+ *      leading zeros, or any other non-digit character) are rejected as
+ *      malformed without being parsed.
+ *   1. The digit count and leading digits give log10(n), and by Binet's
+ *      formula fib(k) = phi^k / sqrt(5) (rounded), so
+ *      k = (log10(n) + log10(sqrt(5))) / log10(phi) must be within rounding
+ *      error of an integer.  This rejects almost every number and pins the
+ *      index k of the survivors down to one candidate.
+ *   2. The last two digits must match fib(k) mod 100 (which repeats with
+ *      period 300).  This needs no parsing.
+ *   3. The residues modulo ten small primes (computed with a single
+ *      division) must match fib(k) modulo each prime, using the Pisano
+ *      period of each prime.
+ *   4. The exact test from FibonacciTesterMatrixMethod or
+ *      FibonacciTesterAlgebraicMethod.
+ *
+ * Numbers below 10^18 are instead answered exactly from FibonacciLookup.
+ * The batch methods run in parallel and the filter counts how many numbers
+ * each stage rejects.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class FibonacciBatchFilter {
+    /** The base-10 logarithm of the golden ratio. */
+    private static final double LOG10_PHI = Math.log10((1 + Math.sqrt(5)) / 2);
+
+    /** The base-10 logarithm of the square root of 5. */
+    private static final double LOG10_SQRT5 = Math.log10(Math.sqrt(5));
+
+    /** The number of leading digits used to estimate log10(n). */
+    private static final int LEADING_DIGITS = 17;
+
+    /** The relative error allowed in the index estimate, far above the error of the double arithmetic. */
+    private static final double INDEX_TOLERANCE = 1e-11;
+
+    /** The small primes whose residues are checked (their product is less than 2^63). */
+    private static final int[] PRIMES = { 11, 29, 31, 41, 61, 71, 79, 89, 101, 109 };
+
+    /** The product of PRIMES. */
+    private static final BigInteger PRIME_PRODUCT = computeProduct(PRIMES);
+
+    /** FIBONACCI_MOD_PRIME[i][j] is fib(j) mod PRIMES[i] for j in one Pisano period. */
+    private static final int[][] FIBONACCI_MOD_PRIME = new int[PRIMES.length][];
+
+    /** fib(j) mod 100 for j in one Pisano period. */
+    private static final int[] FIBONACCI_MOD_100 = computePisanoTable(100);
+
+    static {
+        for (int i = 0; i < PRIMES.length; i++) {
+            FIBONACCI_MOD_PRIME[i] = computePisanoTable(PRIMES[i]);
+        }
+    }
+
+    private final boolean useMatrixMethod;
+    private final LongAdder numbersTested = new LongAdder();
+    private final LongAdder rejectedAsMalformed = new LongAdder();
+    private final LongAdder rejectedByLength = new LongAdder();
+    private final LongAdder rejectedByLastDigits = new LongAdder();
+    private final LongAdder rejectedByResidues = new LongAdder();
+    private final LongAdder rejectedByExactTest = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+
+    /**
+     * Runs the program with an example batch.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        String[] numbers = new String[100000];
+
+        for (int i = 0; i < numbers.length; i++) {
+            BigInteger fibonacci = FibonacciGenerator.fibonacci(1000 + i % 500);
+            numbers[i] = (i % 100 == 0) ? fibonacci.toString() : fibonacci.add(BigInteger.valueOf(i)).toString();
+        }
+
+        FibonacciBatchFilter filter = new FibonacciBatchFilter(true);
+        String[] members = filter.filter(numbers);
+
+        System.out.println(members.length + " of " + numbers.length + " numbers are Fibonacci numbers.");
+        System.out.println(filter);
+    }
+
+    /**
+     * Creates a new filter.
+     *
+     * @param useMatrixMethod   True to use FibonacciTesterMatrixMethod for the
+     *                          exact test, or false to use
+     *                          FibonacciTesterAlgebraicMethod.
+     */
+    public FibonacciBatchFilter(boolean useMatrixMethod) {
+        this.useMatrixMethod = useMatrixMethod;
+    }
+
+    /**
+     * Filters an array of decimal numbers in parallel.
+     *
+     * @param numbers   The numbers to filter.
+     * @return          The numbers that are Fibonacci numbers, in their
+     *                  original order.
+     */
+    public String[] filter(String[] numbers) {
+        return Arrays.stream(numbers).parallel().filter(this::isFibonacci).toArray(String[]::new);
+    }
+
+    /**
+     * Filters a stream of decimal numbers in parallel.
+     *
+     * @param numbers   The numbers to filter.
+     * @return          A stream of the numbers that are Fibonacci numbers.
+     */
+    public Stream<String> filter(Stream<String> numbers) {
+        return numbers.parallel().filter(this::isFibonacci);
+    }
+
+    /**
+     * Determines whether the given decimal number is a Fibonacci number.
+     *
+     * @param num   The number to test, with no sign or leading zeros.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public boolean isFibonacci(String num) {
+        numbersTested.increment();
+
+        int digits = num.length();
+
+        // Stage 0: reject anything that is not a positive decimal number, so that parsing cannot fail
+        if (!isPositiveDecimal(num)) {
+            rejectedAsMalformed.increment();
+            return false;
+        }
+
+        // Small numbers are answered exactly from the table
+        if (digits <= 18) {
+            return record(FibonacciLookup.isFibonacci(Long.parseLong(num)), rejectedByExactTest);
+        }
+
+        // Stage 1: estimate log10(n) from the leading digits and find the index it implies
+        long leading = 0;
+
+        for (int i = 0; i < LEADING_DIGITS; i++) {
+            leading = leading * 10 + (num.charAt(i) - '0');
+        }
+
+        long index = estimateIndex(Math.log10(leading) + (digits - LEADING_DIGITS));
+
+        if (index < 0) {
+            rejectedByLength.increment();
+            return false;
+        }
+
+        // Stage 2: compare the last two digits against fib(k) mod 100
+        int lastDigits = (num.charAt(digits - 2) - '0') * 10 + (num.charAt(digits - 1) - '0');
+
+        if (!matchesIndex(FIBONACCI_MOD_100, lastDigits, index)) {
+            rejectedByLastDigits.increment();
+            return false;
+        }
+
+        return testResidues(new BigInteger(num), index);
+    }
+
+    /**
+     * Determines whether the given number is a Fibonacci number.
+     *
+     * @param num   The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public boolean isFibonacci(BigInteger num) {
+        numbersTested.increment();
+
+        // Stage 0: reject anything that is not positive
+        if (num.signum() <= 0) {
+            rejectedAsMalformed.increment();
+            return false;
+        }
+
+        // Small numbers are answered exactly from the table
+        if (num.bitLength() < 60) {
+            return record(FibonacciLookup.isFibonacci(num.longValue()), rejectedByExactTest);
+        }
+
+        // Stage 1: estimate log10(n) from the leading 62 bits and find the index it implies
+        int shift = num.bitLength() - 62;
+        long index = estimateIndex(Math.log10(num.shiftRight(shift).longValue()) + shift * Math.log10(2));
+
+        if (index < 0) {
+            rejectedByLength.increment();
+            return false;
+        }
+
+        // Stage 2: compare the last two digits against fib(k) mod 100
+        if (!matchesIndex(FIBONACCI_MOD_100, num.remainder(BigInteger.valueOf(100)).intValue(), index)) {
+            rejectedByLastDigits.increment();
+            return false;
+        }
+
+        return testResidues(num, index);
+    }
+
+    /**
+     * @return      The number of numbers tested so far.
+     */
+    public long getNumbersTested() {
+        return numbersTested.sum();
+    }
+
+    /**
+     * @return      The number of inputs rejected because they were not
+     *              positive decimal numbers.
+     */
+    public long getRejectedAsMalformed() {
+        return rejectedAsMalformed.sum();
+    }
+
+    /**
+     * @return      The number of inputs rejected because their length and
+     *              leading digits do not match the Binet estimate of any
+     *              Fibonacci number.
+     */
+    public long getRejectedByLength() {
+        return rejectedByLength.sum();
+    }
+
+    /**
+     * @return      The number of inputs rejected by their last two digits.
+     */
+    public long getRejectedByLastDigits() {
+        return rejectedByLastDigits.sum();
+    }
+
+    /**
+     * @return      The number of inputs rejected by their residues modulo
+     *              small primes.
+     */
+    public long getRejectedByResidues() {
+        return rejectedByResidues.sum();
+    }
+
+    /**
+     * @return      The number of inputs rejected by the exact test.
+     */
+    public long getRejectedByExactTest() {
+        return rejectedByExactTest.sum();
+    }
+
+    /**
+     * @return      The number of inputs found to be Fibonacci numbers.
+     */
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * Describes the counters of this filter.
+     *
+     * @return      A summary of how many numbers each stage rejected.
+     */
+    @Override
+    public String toString() {
+        return "tested=" + getNumbersTested() + ", rejectedAsMalformed=" + getRejectedAsMalformed()
+               + ", rejectedByLength=" + getRejectedByLength()
+               + ", rejectedByLastDigits=" + getRejectedByLastDigits() + ", rejectedByResidues="
+               + getRejectedByResidues() + ", rejectedByExactTest=" + getRejectedByExactTest()
+               + ", accepted=" + getAccepted();
+    }
+
+    /**
+     * Runs stage 3 and, for survivors, stage 4.
+     *
+     * @param num       The number to test.
+     * @param index     The candidate index.
+     * @return          True if the number is a Fibonacci number.
+     */
+    private boolean testResidues(BigInteger num, long index) {
+        // Stage 3: a single division gives the residues modulo every small prime
+        long residues = num.remainder(PRIME_PRODUCT).longValue();
+
+        for (int i = 0; i < PRIMES.length; i++) {
+            if (!matchesIndex(FIBONACCI_MOD_PRIME[i], (int) (residues % PRIMES[i]), index)) {
+                rejectedByResidues.increment();
+                return false;
+            }
+        }
+
+        // Stage 4: run the exact test on the survivors
+        boolean isFibonacci = useMatrixMethod ? FibonacciTesterMatrixMethod.isFibonacci(num)
+                                              : FibonacciTesterAlgebraicMethod.isFibonacci(num);
+
+        return record(isFibonacci, rejectedByExactTest);
+    }
+
+    /**
+     * Counts the outcome of the last stage that ran.
+     *
+     * @param isFibonacci   The outcome.
+     * @param rejected      The counter to increment if the number was rejected.
+     * @return              The outcome.
+     */
+    private boolean record(boolean isFibonacci, LongAdder rejected) {
+        (isFibonacci ? accepted : rejected).increment();
+
+        return isFibonacci;
+    }
+
+    /**
+     * Determines whether fib(k) mod m equals the given residue.
+     *
+     * @param table     fib(j) mod m for j in one Pisano period of m.
+     * @param residue   The residue to look for.
+     * @param index     The candidate index k.
+     * @return          True if the candidate index matches.
+     */
+    private static boolean matchesIndex(int[] table, int residue, long index) {
+        return table[(int) (index % table.length)] == residue;
+    }
+
+    /**
+     * Finds the index k such that fib(k) could be a number with the given
+     * base-10 logarithm.  Since fib(k) is phi^k / sqrt(5) rounded, k must be
+     * (log10(n) + log10(sqrt(5))) / log10(phi), up to the rounding error of
+     * the estimate of log10(n).
+     *
+     * @param log10     The base-10 logarithm of the number, at least 17.
+     * @return          The candidate index, or -1 if no index is close
+     *                  enough.
+     */
+    private static long estimateIndex(double log10) {
+        double estimate = (log10 + LOG10_SQRT5) / LOG10_PHI;
+        long index = Math.round(estimate);
+
+        return (Math.abs(estimate - index) <= INDEX_TOLERANCE * estimate) ? index : -1;
+    }
+
+    /**
+     * Determines whether the given string is a positive decimal number
+     * without a sign or leading zeros.
+     *
+     * @param num   The string.
+     * @return      True if the string is well formed and false otherwise.
+     */
+    private static boolean isPositiveDecimal(String num) {
+        if (num.isEmpty() || num.charAt(0) == '0') {
+            return false;
+        }
+
+        for (int i = 0; i < num.length(); i++) {
+            char c = num.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes fib(j) mod m for j in one Pisano period of m.
+     *
+     * @param m     The modulus.
+     * @return      An array whose length is the Pisano period of m.
+     */
+    private static int[] computePisanoTable(int m) {
+        // The Pisano period of m is at most 6m
+        int[] table = new int[6 * m + 2];
+        table[1] = 1 % m;
+
+        for (int j = 2; j < table.length; j++) {
+            table[j] = (table[j - 1] + table[j - 2]) % m;
+
+            if (table[j - 1] == 0 && table[j] == 1 % m) {
+                return Arrays.copyOf(table, j - 1);
+            }
+        }
+
+        throw new IllegalStateException("No Pisano period found for " + m);
+    }
+
+    /**
+     * Computes the product of the given numbers.
+     *
+     * @param numbers   The numbers to multiply.
+     * @return          The product of the numbers.
+     */
+    private static BigInteger computeProduct(int[] numbers) {
+        long product = 1;
+
+        for (int number : numbers) {
+            product *= number;
+        }
+
+        return BigInteger.valueOf(product);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This program computes fib(n) with the fast doubling method in O(M(n) lg n)
+ * time, where M(n) is the time needed to multiply two n-bit numbers.  Each
+ * doubling step is fibPlus(a, b, a, b) from FibonacciTesterMatrixMethod,
+ * rewritten to use three squarings, which are cheaper than general
+ * multiplications.  For huge operands the three squarings are run in
+ * parallel.  The result can be written to a file in decimal without
+ * building one giant String.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class FibonacciGenerator {
+    /** The operand size (in bits) above which squarings are run in parallel. */
+    private static final int PARALLEL_THRESHOLD_BITS = 1 << 17;
+
+    /** The largest n for which fib(n) fits in a BigInteger. */
+    public static final long MAX_INDEX = 3000000000L;
+
+    /** The number of decimal digits in the smallest chunk that is written. */
+    private static final int CHUNK_DIGITS = 1024;
+
+    /**
+     * Runs the program with an example index.  The first argument is the
+     * index, and the optional second argument is a file to write fib(n) to.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) throws IOException {
+        long n = (args.length > 0) ? Long.parseLong(args[0]) : 1000;
+
+        if (args.length > 1) {
+            long start = System.nanoTime();
+            writeFibonacci(n, Paths.get(args[1]));
+            System.out.println("Wrote fib(" + n + ") to " + args[1] + " in " + ((System.nanoTime() - start) / 1000000) + " ms.");
+        } else {
+            System.out.println("fib(" + n + ") = " + fibonacci(n));
+        }
+    }
+
+    /**
+     * Computes fib(n) on the current thread.
+     *
+     * @param n     The index, in [0, MAX_INDEX].
+     * @return      The value fib(n).
+     */
+    public static BigInteger fibonacci(long n) {
+        return fibonacci(n, null);
+    }
+
+    /**
+     * Computes fib(n), running the squarings of each large doubling step in
+     * parallel on the given pool.
+     *
+     * @param n     The index, in [0, MAX_INDEX].
+     * @param pool  The pool to run squarings on, or null to run serially.
+     * @return      The value fib(n).
+     */
+    public static BigInteger fibonacci(long n, ForkJoinPool pool) {
+        if (n < 0 || n > MAX_INDEX) {
+            throw new IllegalArgumentException("n must be in [0, " + MAX_INDEX + "]: " + n);
+        }
+
+        if (n <= FibonacciLookup.MAX_INDEX) {
+            return BigInteger.valueOf(FibonacciLookup.fibonacci((int) n));
+        }
+
+        // Keep a = fib(k) and b = fib(k + 1), where k is the high bits of n seen so far
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+
+        for (long bit = Long.highestOneBit(n); bit != 0; bit >>>= 1) {
+            BigInteger[] squares = square(a, b, b.subtract(a), pool);
+
+            // fib(2k) = b^2 - (b - a)^2 and fib(2k + 1) = a^2 + b^2
+            BigInteger doubled = squares[1].subtract(squares[2]);
+            BigInteger doubledPlusOne = squares[0].add(squares[1]);
+
+            if ((n & bit) != 0) {
+                a = doubledPlusOne;
+                b = doubled.add(doubledPlusOne);
+            } else {
+                a = doubled;
+                b = doubledPlusOne;
+            }
+        }
+
+        return a;
+    }
+
+    /**
+     * Writes fib(n) to the given file in decimal.
+     *
+     * @param n     The index, in [0, MAX_INDEX].
+     * @param file  The file to write to.
+     */
+    public static void writeFibonacci(long n, Path file) throws IOException {
+        BigInteger value = fibonacci(n, ForkJoinPool.commonPool());
+
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writeDecimal(value, out);
+        }
+    }
+
+    /**
+     * Writes the given number in decimal.  The number is split in half
+     * recursively by powers of 10^(CHUNK_DIGITS * 2^i), so only chunks of at
+     * most CHUNK_DIGITS digits are ever converted to strings.
+     *
+     * @param value     The number to write.
+     * @param out       The writer to write to.
+     */
+    public static void writeDecimal(BigInteger value, Writer out) throws IOException {
+        if (value.signum() < 0) {
+            out.write('-');
+            value = value.negate();
+        }
+
+        // powers[i] = 10^(CHUNK_DIGITS * 2^i), up to the first power whose square exceeds the value
+        List<BigInteger> powers = new ArrayList<BigInteger>();
+        BigInteger power = BigInteger.TEN.pow(CHUNK_DIGITS);
+
+        while (power.compareTo(value) <= 0) {
+            powers.add(power);
+            power = power.multiply(power);
+        }
+
+        writeDecimal(value, out, powers, powers.size() - 1, 0);
+    }
+
+    /**
+     * Recursively writes a number in decimal.
+     *
+     * @param value     The number to write, less than powers[level]^2.
+     * @param out       The writer to write to.
+     * @param powers    The powers 10^(CHUNK_DIGITS * 2^i).
+     * @param level     The index of the power to split by.
+     * @param digits    The number of digits to pad the number to, or 0 for
+     *                  no padding.
+     */
+    private static void writeDecimal(BigInteger value, Writer out, List<BigInteger> powers, int level, long digits) throws IOException {
+        if (level < 0) {
+            String chunk = value.toString();
+
+            for (long i = chunk.length(); i < digits; i++) {
+                out.write('0');
+            }
+
+            out.write(chunk);
+            return;
+        }
+
+        long lowDigits = (long) CHUNK_DIGITS << level;
+        BigInteger[] quotientAndRemainder = value.divideAndRemainder(powers.get(level));
+
+        // Skip an empty high half unless it is needed for padding
+        if (digits == 0 && quotientAndRemainder[0].signum() == 0) {
+            writeDecimal(value, out, powers, level - 1, 0);
+            return;
+        }
+
+        writeDecimal(quotientAndRemainder[0], out, powers, level - 1, Math.max(digits - lowDigits, 0));
+        writeDecimal(quotientAndRemainder[1], out, powers, level - 1, lowDigits);
+    }
+
+    /**
+     * Squares three numbers, in parallel if they are large enough and a pool
+     * was given.
+     *
+     * @param x     The first number.
+     * @param y     The second number.
+     * @param z     The third number.
+     * @param pool  The pool to run on, or null to run serially.
+     * @return      The array { x^2, y^2, z^2 }.
+     */
+    private static BigInteger[] square(BigInteger x, BigInteger y, BigInteger z, ForkJoinPool pool) {
+        if (pool == null || y.bitLength() < PARALLEL_THRESHOLD_BITS) {
+            return new BigInteger[] { x.multiply(x), y.multiply(y), z.multiply(z) };
+        }
+
+        ForkJoinTask<BigInteger> xSquared = pool.submit(() -> x.multiply(x));
+        ForkJoinTask<BigInteger> zSquared = pool.submit(() -> z.multiply(z));
+        BigInteger ySquared = y.multiply(y);
+
+        return new BigInteger[] { xSquared.join(), ySquared, zSquared.join() };
+    }
+}
\ No newline at end of file
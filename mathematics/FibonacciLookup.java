@@ -0,0 +1,98 @@
+/**
+ * This program determines whether a given long is a Fibonacci number, and
+ * which one it is, by binary searching a table of the 92 Fibonacci numbers
+ * that fit in a long.  It runs in O(1) time (at most seven comparisons) and
+ * allocates nothing.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class FibonacciLookup {
+    /** The index of the largest Fibonacci number that fits in a long. */
+    public static final int MAX_INDEX = 92;
+
+    /** FIBONACCI[i] is fib(i) for i in [0, MAX_INDEX]. */
+    private static final long[] FIBONACCI = computeTable();
+
+    /**
+     * Runs the program with an example number.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        long num = 7540113804746346429L;
+        int index = indexOf(num);
+
+        if (index != -1) {
+            System.out.println(num + " is Fibonacci number " + index + ".");
+        } else {
+            System.out.println(num + " is NOT a Fibonacci number.");
+        }
+    }
+
+    /**
+     * Determines whether the given number is a Fibonacci number.
+     *
+     * @param n     The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public static boolean isFibonacci(long n) {
+        return indexOf(n) != -1;
+    }
+
+    /**
+     * Finds the index k such that fib(k) is the given number.  Since
+     * fib(1) = fib(2) = 1, the smallest index is returned for 1.
+     *
+     * @param n     The number to look up.
+     * @returns     The index k with fib(k) = n, or -1 if n is not a positive
+     *              Fibonacci number.
+     */
+    public static int indexOf(long n) {
+        if (n <= 0) {
+            return -1;
+        }
+
+        int low = 1;
+        int high = MAX_INDEX;
+
+        // Find the first index whose value is at least n
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (FIBONACCI[mid] < n) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return (FIBONACCI[low] == n) ? low : -1;
+    }
+
+    /**
+     * Returns the Fibonacci number with the given index.
+     *
+     * @param k     The index, in [0, MAX_INDEX].
+     * @returns     The value fib(k).
+     */
+    public static long fibonacci(int k) {
+        return FIBONACCI[k];
+    }
+
+    /**
+     * Computes the table of Fibonacci numbers that fit in a long.
+     *
+     * @returns     An array where index i holds fib(i).
+     */
+    private static long[] computeTable() {
+        long[] table = new long[MAX_INDEX + 1];
+        table[1] = 1;
+
+        for (int i = 2; i <= MAX_INDEX; i++) {
+            table[i] = table[i - 1] + table[i - 2];
+        }
+
+        return table;
+    }
+}
\ No newline at end of file
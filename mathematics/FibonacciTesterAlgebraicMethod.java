@@ -1,4 +1,5 @@
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * This program determines whether a given number is Fibonacci number in
@@ -9,10 +10,14 @@ import java.math.BigDecimal;
  */
 public class FibonacciTesterAlgebraicMethod {
     private static BigDecimal zero = BigDecimal.valueOf(0);
-    private static BigDecimal one = BigDecimal.valueOf(1);
-    private static BigDecimal two = BigDecimal.valueOf(2);
-    private static BigDecimal four = BigDecimal.valueOf(4);
-    private static BigDecimal five = BigDecimal.valueOf(5);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigInteger FOUR = BigInteger.valueOf(4);
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+    private static final BigInteger RESIDUE_PRODUCT = BigInteger.valueOf(63 * 65 * 11);
+    private static final boolean[] SQUARE_MOD_64 = computeSquareResidues(64);
+    private static final boolean[] SQUARE_MOD_63 = computeSquareResidues(63);
+    private static final boolean[] SQUARE_MOD_65 = computeSquareResidues(65);
+    private static final boolean[] SQUARE_MOD_11 = computeSquareResidues(11);
 
     /**
      * Runs the program with an example number.
@@ -41,48 +46,166 @@ public class FibonacciTesterAlgebraicMethod {
             return false;
         }
 
+        // Answer from the table when the number fits in a long
+        if (num.compareTo(LONG_MAX) <= 0) {
+            return isInteger(num) && FibonacciLookup.isFibonacci(num.longValue());
+        }
+
+        BigInteger integer = toBigInteger(num);
+
+        return integer != null && isFibonacci(integer);
+    }
+
+    /**
+     * Determines whether the given number is a Fibonacci number.
+     *
+     * @param num   The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public static boolean isFibonacci(BigInteger num) {
+        // Check edge case
+        if (num.signum() <= 0) {
+            return false;
+        }
+
+        // Answer from the table when the number fits in a long
+        if (num.bitLength() < 64) {
+            return FibonacciLookup.isFibonacci(num.longValue());
+        }
+
         // n is a Fibonacci number if and only if (5n^2 + 4) or (5n^2 - 4) is a perfect square.
 
-        BigDecimal base = num.multiply(num).multiply(five);
-        BigDecimal possibility1 = base.add(four);
-        BigDecimal possibility2 = base.subtract(four);
+        BigInteger base = num.multiply(num).multiply(FIVE);
+        BigInteger possibility1 = base.add(FOUR);
+        BigInteger possibility2 = base.subtract(FOUR);
 
         return (isPerfectSquare(possibility1) || isPerfectSquare(possibility2));
     }
 
+    /**
+     * Determines whether the given number is a Fibonacci number without
+     * allocating anything.
+     *
+     * @param num   The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public static boolean isFibonacci(long num) {
+        return FibonacciLookup.isFibonacci(num);
+    }
+
+    /**
+     * Finds the index k such that fib(k) is the given number without
+     * allocating anything.
+     *
+     * @param num   The number to look up.
+     * @returns     The smallest index k with fib(k) = num, or -1 if num is
+     *              not a positive Fibonacci number.
+     */
+    public static int fibonacciIndex(long num) {
+        return FibonacciLookup.indexOf(num);
+    }
+
     /**
      * Determines whether the given number is a perfect square.
      *
      * @param num   The number to test.
      */
     public static boolean isPerfectSquare(BigDecimal num) {
-        return isPerfectSquare(num, BigDecimal.valueOf(0), num.divide(two));
+        BigInteger integer = toBigInteger(num);
+
+        return integer != null && isPerfectSquare(integer);
     }
 
     /**
-     * Determines whether the given number is a perfect square using a
-     * modified binary search.
+     * Determines whether the given number is a perfect square whose square
+     * root is in the given range.
      *
      * @param num   The number to test.
      * @param min   The minimum value for the square root of the given number.
      * @param max   The maximum value for the square root of the given number.
+     * @deprecated  The range is no longer needed to find the square root.
+     *              Use isPerfectSquare(BigInteger) instead.
      */
+    @Deprecated
     public static boolean isPerfectSquare(BigDecimal num, BigDecimal min, BigDecimal max) {
-        while (max.compareTo(min) > 0) {
-            BigDecimal mid = max.divide(two).add(min.divide(two));
-            BigDecimal midFloor = mid.setScale(0, BigDecimal.ROUND_DOWN);
-            BigDecimal currentSquare = midFloor.multiply(midFloor);
-            int comparison = currentSquare.compareTo(num);
-
-            if (comparison < 0) {
-                min = mid.add(one);
-            } else if (comparison > 0) {
-                max = mid.subtract(one);
-            } else {
-                return true;
-            }
+        BigInteger integer = toBigInteger(num);
+
+        if (integer == null || !isPerfectSquare(integer)) {
+            return false;
+        }
+
+        BigDecimal root = new BigDecimal(integer.sqrt());
+
+        return root.compareTo(min) >= 0 && root.compareTo(max) <= 0;
+    }
+
+    /**
+     * Determines whether the given number is a perfect square.  Most
+     * non-squares are rejected by looking up their residues modulo 64, 63,
+     * 65, and 11 in tables of quadratic residues.  The few numbers that pass
+     * every filter are checked by computing their integer square root.
+     *
+     * @param num   The number to test.
+     */
+    public static boolean isPerfectSquare(BigInteger num) {
+        if (num.signum() < 0) {
+            return false;
+        }
+
+        // The low six bits come straight from the magnitude
+        if (!SQUARE_MOD_64[num.intValue() & 63]) {
+            return false;
+        }
+
+        // A single division by 63 * 65 * 11 gives the remaining residues
+        int residue = num.remainder(RESIDUE_PRODUCT).intValue();
+
+        if (!SQUARE_MOD_63[residue % 63] || !SQUARE_MOD_65[residue % 65] || !SQUARE_MOD_11[residue % 11]) {
+            return false;
+        }
+
+        BigInteger root = num.sqrt();
+
+        return root.multiply(root).equals(num);
+    }
+
+    /**
+     * Converts the given number to a BigInteger if it has no fractional part.
+     *
+     * @param num   The number to convert.
+     * @return      The number as a BigInteger, or null if it is not an integer.
+     */
+    private static BigInteger toBigInteger(BigDecimal num) {
+        try {
+            return num.toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Determines whether the given number has no fractional part.
+     *
+     * @param num   The number to test.
+     * @return      True if the number is an integer and false otherwise.
+     */
+    static boolean isInteger(BigDecimal num) {
+        return num.scale() <= 0 || num.signum() == 0 || num.stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * Computes a table of which residues modulo m are squares modulo m.
+     *
+     * @param m     The modulus.
+     * @return      An array where index r is true if r is a square modulo m.
+     */
+    private static boolean[] computeSquareResidues(int m) {
+        boolean[] squares = new boolean[m];
+
+        for (int i = 0; i < m; i++) {
+            squares[(i * i) % m] = true;
         }
 
-        return false;
+        return squares;
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * This program compares the iterative BigInteger implementation of unFib in
+ * FibonacciTesterMatrixMethod with the original recursive BigDecimal
+ * implementation on Fibonacci numbers (and their successors, which are not
+ * Fibonacci numbers) with 1,000, 10,000, and 100,000 digits.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class FibonacciTesterBenchmark {
+    /** The base-10 logarithm of the golden ratio. */
+    private static final double LOG10_PHI = Math.log10((1 + Math.sqrt(5)) / 2);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int[] digitCounts = { 1000, 10000, 100000 };
+
+        for (int digits : digitCounts) {
+            // fib(k) has about k * log10(phi) - log10(sqrt(5)) + 1 digits
+            int index = (int) Math.ceil((digits - 1 + Math.log10(Math.sqrt(5))) / LOG10_PHI);
+            BigInteger member = FibonacciGenerator.fibonacci(index);
+            BigInteger nonMember = member.add(BigInteger.ONE);
+            int repetitions = Math.max(5, 100000 / digits);
+
+            long iterativeTime = time(member, nonMember, repetitions, true);
+            long recursiveTime = time(member, nonMember, repetitions, false);
+
+            System.out.println(member.toString().length() + " digits: iterative BigInteger "
+                               + (iterativeTime / repetitions / 1000) + " us, recursive BigDecimal "
+                               + (recursiveTime / repetitions / 1000) + " us per pair of tests");
+        }
+    }
+
+    /**
+     * Times one implementation on a member and a non-member.
+     *
+     * @param member        A Fibonacci number.
+     * @param nonMember     A number that is not a Fibonacci number.
+     * @param repetitions   The number of times to test each number.
+     * @param iterative     True to time the iterative implementation.
+     * @return              The total time in nanoseconds.
+     */
+    private static long time(BigInteger member, BigInteger nonMember, int repetitions, boolean iterative) {
+        BigDecimal memberDecimal = new BigDecimal(member);
+        BigDecimal nonMemberDecimal = new BigDecimal(nonMember);
+
+        // Warm up before timing
+        for (int i = 0; i < repetitions; i++) {
+            test(member, nonMember, memberDecimal, nonMemberDecimal, iterative);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < repetitions; i++) {
+            test(member, nonMember, memberDecimal, nonMemberDecimal, iterative);
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Tests a member and a non-member with one implementation.
+     *
+     * @param member            A Fibonacci number.
+     * @param nonMember         A number that is not a Fibonacci number.
+     * @param memberDecimal     The member as a BigDecimal.
+     * @param nonMemberDecimal  The non-member as a BigDecimal.
+     * @param iterative         True to use the iterative implementation.
+     */
+    private static void test(BigInteger member, BigInteger nonMember, BigDecimal memberDecimal,
+                             BigDecimal nonMemberDecimal, boolean iterative) {
+        boolean correct;
+
+        if (iterative) {
+            correct = FibonacciTesterMatrixMethod.isFibonacci(member) && !FibonacciTesterMatrixMethod.isFibonacci(nonMember);
+        } else {
+            correct = FibonacciTesterMatrixMethod.isFibonacciRecursive(memberDecimal)
+                      && !FibonacciTesterMatrixMethod.isFibonacciRecursive(nonMemberDecimal);
+        }
+
+        if (!correct) {
+            throw new IllegalStateException("The " + (iterative ? "iterative" : "recursive") + " test gave a wrong answer.");
+        }
+    }
+}
\ No newline at end of file
@@ -1,4 +1,5 @@
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * This program determines whether a given number is Fibonacci number in
@@ -12,6 +13,9 @@ public class FibonacciTesterMatrixMethod {
     private static BigDecimal zero = BigDecimal.valueOf(0);
     private static BigDecimal one = BigDecimal.valueOf(1);
     private static BigDecimal two = BigDecimal.valueOf(2);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final double LOG2_PHI = Math.log((1 + Math.sqrt(5)) / 2) / Math.log(2);
+    private static final double LOG2_SQRT5 = Math.log(Math.sqrt(5)) / Math.log(2);
 
     /**
      * Runs the program with an example number.
@@ -40,12 +44,151 @@ public class FibonacciTesterMatrixMethod {
             return false;
         }
 
+        // Answer from the table when the number fits in a long
+        if (n.compareTo(LONG_MAX) <= 0) {
+            return FibonacciTesterAlgebraicMethod.isInteger(n) && FibonacciLookup.isFibonacci(n.longValue());
+        }
+
+        return FibonacciTesterAlgebraicMethod.isInteger(n) && fibonacciIndex(n.toBigInteger()) != -1;
+    }
+
+    /**
+     * Determines whether the given number is a Fibonacci number.
+     *
+     * @param n     The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public static boolean isFibonacci(BigInteger n) {
+        return fibonacciIndex(n) != -1;
+    }
+
+    /**
+     * Finds the index k such that fib(k) is the given number.  This is an
+     * iterative version of the unFib sequence.  Since fib(k) is within a
+     * factor of phi of phi^k / sqrt(5), the bit length of n pins k down to
+     * one of a few values.  A bounded stack of the pairs
+     * { fib(2^i), fib(2^i + 1) } is computed by repeated doubling, and the
+     * pairs for the set bits of the estimated k are then combined with
+     * fibPlus, smallest first, so most products are much smaller than n.
+     *
+     * @param n     The number to look up.
+     * @returns     The index k with fib(k) = n, or -1 if n is not a positive
+     *              Fibonacci number.
+     */
+    public static long fibonacciIndex(BigInteger n) {
+        // Check edge case
+        if (n.signum() <= 0) {
+            return -1;
+        }
+
+        // Answer from the table when the number fits in a long
+        if (n.bitLength() < 64) {
+            return FibonacciLookup.indexOf(n.longValue());
+        }
+
+        // Estimate k from log2(n) using the top 62 bits of n
+        int shift = n.bitLength() - 62;
+        double log2 = shift + Math.log(n.shiftRight(shift).doubleValue()) / Math.log(2);
+        long k = Math.round((log2 + LOG2_SQRT5) / LOG2_PHI);
+
+        int levels = 64 - Long.numberOfLeadingZeros(k);
+        BigInteger[] powers = new BigInteger[levels];
+        BigInteger[] powersPlusOne = new BigInteger[levels];
+        BigInteger a = BigInteger.ONE;
+        BigInteger b = BigInteger.ONE;
+
+        // Push { fib(2^i), fib(2^i + 1) } for each bit of k
+        for (int level = 0; level < levels; level++) {
+            powers[level] = a;
+            powersPlusOne[level] = b;
+
+            if (level + 1 < levels) {
+                // fibPlus(a, b, a, b) using only squares:
+                // fib(2i) = b^2 - (b - a)^2 and fib(2i + 1) = a^2 + b^2
+                BigInteger aSquared = a.multiply(a);
+                BigInteger bSquared = b.multiply(b);
+                BigInteger difference = b.subtract(a);
+
+                a = bSquared.subtract(difference.multiply(difference));
+                b = aSquared.add(bSquared);
+            }
+        }
+
+        BigInteger c = BigInteger.ZERO;
+        BigInteger d = BigInteger.ONE;
+
+        // Combine the pairs for the set bits of k, keeping c = fib(j) and
+        // d = fib(j + 1) where j is the low bits of k seen so far
+        for (int level = 0; level < levels; level++) {
+            if ((k & (1L << level)) == 0) {
+                continue;
+            }
+
+            a = powers[level];
+            b = powersPlusOne[level];
+
+            // fibPlus(a, b, c, d) = { fib(2^level + j), fib(2^level + j + 1) }
+            BigInteger bd = b.multiply(d);
+            BigInteger e = bd.subtract(b.subtract(a).multiply(d.subtract(c)));
+            d = a.multiply(c).add(bd);
+            c = e;
+        }
+
+        // Correct the estimate if it was off by one
+        int comparison = c.compareTo(n);
+
+        if (comparison == 0) {
+            return k;
+        } else if (comparison < 0) {
+            return d.equals(n) ? k + 1 : -1;
+        } else {
+            return d.subtract(c).equals(n) ? k - 1 : -1;
+        }
+    }
+
+    /**
+     * Determines whether the given number is a Fibonacci number using the
+     * original recursive BigDecimal implementation of unFib.  This is kept
+     * as a baseline for FibonacciTesterBenchmark.
+     *
+     * @param n     The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public static boolean isFibonacciRecursive(BigDecimal n) {
+        // Check edge case
+        if (n.compareTo(zero) <= 0) {
+            return false;
+        }
+
         BigDecimal[] outputs1 = unFib(one, one, n);
         BigDecimal a = outputs1[1];
 
         return n.compareTo(a) == 0;
     }
 
+    /**
+     * Determines whether the given number is a Fibonacci number without
+     * allocating anything.
+     *
+     * @param num   The number to test.
+     * @returns     True if the given number is Fibonacci number and false otherwise.
+     */
+    public static boolean isFibonacci(long num) {
+        return FibonacciLookup.isFibonacci(num);
+    }
+
+    /**
+     * Finds the index k such that fib(k) is the given number without
+     * allocating anything.
+     *
+     * @param num   The number to look up.
+     * @returns     The smallest index k with fib(k) = num, or -1 if num is
+     *              not a positive Fibonacci number.
+     */
+    public static int fibonacciIndex(long num) {
+        return FibonacciLookup.indexOf(num);
+    }
+
     /**
      * Runs the unFib sequence.
      *
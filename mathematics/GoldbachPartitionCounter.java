@@ -0,0 +1,230 @@
+/**
+ * This program computes the Goldbach partition function g(n) (the number of
+ * unordered pairs of primes that add up to n) for every even n up to a
+ * given limit at once.  It convolves the odd-prime indicator vector with
+ * itself using a number-theoretic transform, so it runs in O(n lg n) time
+ * instead of the O(n^2) time needed to count each number separately.
+ * Every value is kept below the modulus, which is less than 2^29, so the
+ * vector is stored as ints and widened to longs only to multiply.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class GoldbachPartitionCounter {
+    /** The NTT modulus, 7 * 2^26 + 1.  Every count is far smaller than it. */
+    private static final long MODULUS = 469762049;
+
+    /** A primitive root of the modulus. */
+    private static final long PRIMITIVE_ROOT = 3;
+
+    /** The largest transform length that the modulus supports. */
+    private static final int MAX_LENGTH = 1 << 26;
+
+    /** The largest limit whose convolution fits in the largest transform. */
+    public static final int MAX_LIMIT = MAX_LENGTH;
+
+    /**
+     * Runs the program with an example limit and checks the result against
+     * the naive count.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int maxNum = 10000;
+        int[] counts = countAllPrimeSummands(maxNum);
+        PrimeSieve primeSieve = new PrimeSieve(maxNum);
+
+        for (int num = 4; num <= maxNum; num += 2) {
+            if (counts[num] != GoldbachsConjecture.countPrimeSummands(primeSieve, num)) {
+                System.out.println("Mismatch for g(" + num + ").");
+                return;
+            }
+        }
+
+        System.out.println("g(n) matches the naive count for every even n <= " + maxNum + ".");
+        System.out.println("g(" + maxNum + ") = " + counts[maxNum]);
+    }
+
+    /**
+     * Computes the Goldbach partition function for every number up to the
+     * given limit.
+     *
+     * @param maxNum    The largest number to compute g(n) for.
+     * @return          An array where index n holds g(n) (0 for odd n and
+     *                  for n < 4).
+     */
+    public static int[] countAllPrimeSummands(int maxNum) {
+        if (maxNum < 0 || maxNum > MAX_LIMIT) {
+            throw new IllegalArgumentException("maxNum must be in [0, " + MAX_LIMIT + "]: " + maxNum);
+        }
+
+        return countAllPrimeSummands(new PrimeSieve(maxNum), maxNum);
+    }
+
+    /**
+     * Computes the Goldbach partition function for every number up to the
+     * given limit using a sieve that has already been computed.
+     *
+     * @param primeSieve    A sieve whose limit is at least maxNum.
+     * @param maxNum        The largest number to compute g(n) for.
+     * @return              An array where index n holds g(n) (0 for odd n
+     *                      and for n < 4).
+     */
+    public static int[] countAllPrimeSummands(PrimeSieve primeSieve, int maxNum) {
+        if (maxNum < 0 || maxNum > MAX_LIMIT) {
+            throw new IllegalArgumentException("maxNum must be in [0, " + MAX_LIMIT + "]: " + maxNum);
+        }
+
+        int[] counts = new int[maxNum + 1];
+
+        if (maxNum < 4) {
+            return counts;
+        }
+
+        // Index i of the indicator holds odd number 2i + 1, so an odd prime
+        // pair with indices i and j adds up to 2(i + j + 1)
+        int numIndices = (maxNum + 1) / 2;
+        int length = Integer.highestOneBit(Math.max(2 * numIndices - 1, 1));
+
+        if (length < 2 * numIndices - 1) {
+            length <<= 1;
+        }
+
+        int[] indicator = new int[length];
+
+        for (int i = 1; i < numIndices; i++) {
+            if (primeSieve.isPrime(2 * i + 1)) {
+                indicator[i] = 1;
+            }
+        }
+
+        int[] twiddles = new int[length / 2];
+
+        transform(indicator, twiddles, false);
+
+        for (int i = 0; i < length; i++) {
+            indicator[i] = (int) ((long) indicator[i] * indicator[i] % MODULUS);
+        }
+
+        transform(indicator, twiddles, true);
+
+        // The convolution counts ordered pairs, so count each unordered pair
+        // once by adding in the pair p + p before halving
+        for (int num = 6; num <= maxNum; num += 2) {
+            int orderedPairs = indicator[num / 2 - 1];
+            int half = num / 2;
+            int squarePair = (half % 2 != 0 && primeSieve.isPrime(half)) ? 1 : 0;
+
+            counts[num] = (orderedPairs + squarePair) / 2;
+        }
+
+        // The only partition that uses the even prime is 4 = 2 + 2
+        counts[4] = 1;
+
+        return counts;
+    }
+
+    /**
+     * Computes the number-theoretic transform (or its inverse) of the given
+     * array in place.  The inverse transform runs the forward one and then
+     * reverses all but the first value, since the inverse root's powers are
+     * the forward root's powers in reverse order.
+     *
+     * The powers of each stage's root (the twiddles) are kept in one array
+     * that is expanded in place from stage to stage: the powers of a root
+     * of order 2s are the powers of the root of order s, spread out to the
+     * even indices, with the odd ones in between.  This computes each power
+     * once, like a table for the largest stage, but keeps every stage's
+     * twiddles contiguous, where reading a full table with a stride would
+     * miss the cache on almost every read for large transforms.
+     *
+     * @param values    The values to transform, each in [0, MODULUS).  The
+     *                  length must be a power of two no larger than
+     *                  MAX_LENGTH.
+     * @param twiddles  An array of at least values.length / 2 ints to hold
+     *                  the twiddles.
+     * @param inverse   True to compute the inverse transform.
+     */
+    private static void transform(int[] values, int[] twiddles, boolean inverse) {
+        int n = values.length;
+
+        // Reorder the values into bit-reversed order
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+
+            j ^= bit;
+
+            if (i < j) {
+                int temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            }
+        }
+
+        // Combine butterflies of increasing size
+        for (int size = 2; size <= n; size <<= 1) {
+            int halfSize = size >> 1;
+            long root = power(PRIMITIVE_ROOT, (MODULUS - 1) / size);
+
+            // Expand the previous stage's halfSize / 2 twiddles, from the back so none is overwritten before it is read
+            for (int i = (halfSize >> 1) - 1; i >= 0; i--) {
+                twiddles[2 * i + 1] = (int) (twiddles[i] * root % MODULUS);
+                twiddles[2 * i] = twiddles[i];
+            }
+
+            twiddles[0] = 1;
+
+            for (int start = 0; start < n; start += size) {
+                for (int i = 0; i < halfSize; i++) {
+                    int even = values[start + i];
+                    int odd = (int) ((long) values[start + i + halfSize] * twiddles[i] % MODULUS);
+
+                    // Both are below 2^29, so neither the sum nor the difference overflows
+                    values[start + i] = (even + odd < MODULUS) ? even + odd : even + odd - (int) MODULUS;
+                    values[start + i + halfSize] = (even - odd >= 0) ? even - odd : even - odd + (int) MODULUS;
+                }
+            }
+        }
+
+        if (inverse) {
+            long nInverse = power(n, MODULUS - 2);
+
+            for (int i = 1, j = n - 1; i < j; i++, j--) {
+                int temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            }
+
+            for (int i = 0; i < n; i++) {
+                values[i] = (int) (values[i] * nInverse % MODULUS);
+            }
+        }
+    }
+
+    /**
+     * Computes base^exponent modulo the NTT modulus.
+     *
+     * @param base      The base.
+     * @param exponent  The exponent.
+     * @return          The value base^exponent mod MODULUS.
+     */
+    private static long power(long base, long exponent) {
+        long result = 1;
+        base %= MODULUS;
+
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result * base % MODULUS;
+            }
+
+            base = base * base % MODULUS;
+            exponent >>= 1;
+        }
+
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This program verifies Goldbach's Conjecture for every even number in
+ * [4, n].  It computes a single sieve up to n and then, in parallel, finds
+ * the smallest prime p for each even number m such that m - p is also
+ * prime.  Since the smallest such p is tiny in practice, this runs in
+ * roughly O(n lg lg n) time.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class GoldbachVerifier {
+    /**
+     * Runs the program with an example limit.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int maxNum = 100000000;
+        Result result = verify(maxNum);
+
+        if (result.getCounterexample() == -1) {
+            System.out.println("Every even number in [4, " + maxNum + "] is the sum of two primes.");
+        } else {
+            System.out.println(result.getCounterexample() + " is NOT the sum of two primes.");
+        }
+
+        System.out.println("The largest smallest prime needed was " + result.getMaxSmallestPrime()
+                           + " (for " + result.getNumWithMaxSmallestPrime() + ").");
+    }
+
+    /**
+     * Verifies Goldbach's Conjecture for every even number in [4, maxNum]
+     * using the common fork-join pool.
+     *
+     * @param maxNum    The largest number to verify.
+     * @return          The result of the verification.
+     */
+    public static Result verify(int maxNum) {
+        return verify(maxNum, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verifies Goldbach's Conjecture for every even number in [4, maxNum]
+     * using the given pool for both the sieve and the verification.
+     *
+     * @param maxNum    The largest number to verify.
+     * @param pool      The pool to run on.
+     * @return          The result of the verification.
+     */
+    public static Result verify(int maxNum, ForkJoinPool pool) {
+        return verify(new PrimeSieve(Math.max(maxNum, 0), pool), maxNum, pool);
+    }
+
+    /**
+     * Verifies Goldbach's Conjecture for every even number in [4, maxNum]
+     * using a sieve that has already been computed.
+     *
+     * @param primeSieve    A sieve whose limit is at least maxNum.
+     * @param maxNum        The largest number to verify.
+     * @param pool          The pool to run on.
+     * @return              The result of the verification.
+     */
+    public static Result verify(PrimeSieve primeSieve, int maxNum, ForkJoinPool pool) {
+        if (maxNum < 4) {
+            return new Result(maxNum, 0, -1, 0, 0);
+        }
+
+        return pool.invoke(new VerifyTask(primeSieve, 4, maxNum));
+    }
+
+    /**
+     * Finds the smallest prime p such that num - p is also prime.
+     *
+     * @param primeSieve    A sieve whose limit is at least the given number.
+     * @param num           An even number greater than 2.
+     * @return              The smallest such prime, or -1 if there is none.
+     */
+    public static int smallestPrimeSummand(PrimeSieve primeSieve, int num) {
+        // Check for invalid input
+        if (num < 4 || num % 2 != 0) {
+            return -1;
+        }
+
+        // The only partition that uses the even prime is 4 = 2 + 2
+        if (num == 4) {
+            return 2;
+        }
+
+        int halfNum = num / 2;
+
+        for (long current = primeSieve.nextPrime(3); current != -1 && current <= halfNum; current = primeSieve.nextPrime(current + 2)) {
+            if (primeSieve.isPrime(num - current)) {
+                return (int) current;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This class represents the result of verifying a range of even numbers.
+     */
+    public static class Result {
+        private final int maxNum;
+        private final long numbersChecked;
+        private final int counterexample;
+        private final int maxSmallestPrime;
+        private final int numWithMaxSmallestPrime;
+
+        /**
+         * Creates a new result.
+         *
+         * @param maxNum                    The largest number verified.
+         * @param numbersChecked            The number of even numbers checked.
+         * @param counterexample            The smallest counterexample, or -1.
+         * @param maxSmallestPrime          The largest smallest prime summand.
+         * @param numWithMaxSmallestPrime   The number that needed it.
+         */
+        private Result(int maxNum, long numbersChecked, int counterexample, int maxSmallestPrime, int numWithMaxSmallestPrime) {
+            this.maxNum = maxNum;
+            this.numbersChecked = numbersChecked;
+            this.counterexample = counterexample;
+            this.maxSmallestPrime = maxSmallestPrime;
+            this.numWithMaxSmallestPrime = numWithMaxSmallestPrime;
+        }
+
+        /**
+         * Combines the results of two adjacent ranges, left range first.
+         *
+         * @param left      The result for the lower range.
+         * @param right     The result for the upper range.
+         * @return          The result for both ranges.
+         */
+        private static Result merge(Result left, Result right) {
+            int counterexample = (left.counterexample != -1) ? left.counterexample : right.counterexample;
+            Result max = (right.maxSmallestPrime > left.maxSmallestPrime) ? right : left;
+
+            return new Result(right.maxNum, left.numbersChecked + right.numbersChecked, counterexample,
+                              max.maxSmallestPrime, max.numWithMaxSmallestPrime);
+        }
+
+        /**
+         * @return      The largest number that was verified.
+         */
+        public int getMaxNum() {
+            return maxNum;
+        }
+
+        /**
+         * @return      The number of even numbers that were checked.
+         */
+        public long getNumbersChecked() {
+            return numbersChecked;
+        }
+
+        /**
+         * @return      The smallest even number that is not the sum of two
+         *              primes, or -1 if there is none.
+         */
+        public int getCounterexample() {
+            return counterexample;
+        }
+
+        /**
+         * @return      The largest value of the smallest prime summand over
+         *              all of the even numbers that were checked.
+         */
+        public int getMaxSmallestPrime() {
+            return maxSmallestPrime;
+        }
+
+        /**
+         * @return      The smallest even number whose smallest prime summand
+         *              is {@link #getMaxSmallestPrime()}.
+         */
+        public int getNumWithMaxSmallestPrime() {
+            return numWithMaxSmallestPrime;
+        }
+    }
+
+    /**
+     * This class verifies a range of even numbers, splitting the range in
+     * half until each piece is small enough to check serially.
+     */
+    private static class VerifyTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        /** The number of even numbers below which a task runs serially. */
+        private static final int NUMBERS_PER_TASK = 1 << 14;
+
+        private final PrimeSieve primeSieve;
+        private final int startNum;
+        private final int endNum;
+
+        /**
+         * Creates a new task.
+         *
+         * @param primeSieve    The shared sieve.
+         * @param startNum      The first even number to check.
+         * @param endNum        The last number to check (inclusive).
+         */
+        public VerifyTask(PrimeSieve primeSieve, int startNum, int endNum) {
+            this.primeSieve = primeSieve;
+            this.startNum = startNum;
+            this.endNum = endNum;
+        }
+
+        @Override
+        protected Result compute() {
+            if ((endNum - startNum) / 2 <= NUMBERS_PER_TASK) {
+                return computeSerially();
+            }
+
+            // Split on an even number so that both halves start on an even number
+            int middleNum = (startNum + (endNum - startNum) / 2) & ~1;
+            VerifyTask left = new VerifyTask(primeSieve, startNum, middleNum - 1);
+            VerifyTask right = new VerifyTask(primeSieve, middleNum, endNum);
+
+            left.fork();
+            Result rightResult = right.compute();
+
+            return Result.merge(left.join(), rightResult);
+        }
+
+        /**
+         * Checks every even number in this task's range on the current thread.
+         *
+         * @return      The result for this task's range.
+         */
+        private Result computeSerially() {
+            long numbersChecked = 0;
+            int counterexample = -1;
+            int maxSmallestPrime = 0;
+            int numWithMaxSmallestPrime = 0;
+
+            for (int num = startNum; num <= endNum && num > 0; num += 2) {
+                int smallestPrime = smallestPrimeSummand(primeSieve, num);
+                numbersChecked++;
+
+                if (smallestPrime == -1) {
+                    if (counterexample == -1) {
+                        counterexample = num;
+                    }
+                } else if (smallestPrime > maxSmallestPrime) {
+                    maxSmallestPrime = smallestPrime;
+                    numWithMaxSmallestPrime = num;
+                }
+            }
+
+            return new Result(endNum, numbersChecked, counterexample, maxSmallestPrime, numWithMaxSmallestPrime);
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,5 @@
-import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.stream.IntStream;
 
 /**
  * According to Goldbach's Conjecture, every even integer greater than
@@ -22,6 +22,8 @@ public class GoldbachsConjecture {
         for (Pair pair : pairs) {
             System.out.println("<" + pair.num1 + ", " + pair.num2 + ">");
         }
+
+        System.out.println("g(100) = " + countPrimeSummands(100));
     }
 
     /**
@@ -33,55 +35,149 @@ public class GoldbachsConjecture {
      *                  given number.
      */
     public static ArrayList<Pair> getPrimeSummands(int num) {
-        ArrayList<Pair> pairs = new ArrayList<Pair>();
+        // Check for invalid input
+        if (num < 4 || num % 2 != 0) {
+            return new ArrayList<Pair>();
+        }
+
+        return getPrimeSummands(new PrimeSieve(num), num);
+    }
+
+    /**
+     * Finds all pairs of prime numbers that add up to the given number using
+     * a sieve that has already been computed.
+     *
+     * @param primeSieve    A sieve whose limit is at least the given number.
+     * @param num           An even number greater than 2.
+     * @return              A list of pairs of prime numbers that add up to the
+     *                      given number.
+     */
+    public static ArrayList<Pair> getPrimeSummands(PrimeSieve primeSieve, int num) {
+        final ArrayList<Pair> pairs = new ArrayList<Pair>();
+
+        forEachPrimeSummand(primeSieve, num, (prime1, prime2) -> pairs.add(new Pair(prime1, prime2)));
+
+        return pairs;
+    }
 
+    /**
+     * Passes each pair of prime numbers that adds up to the given number to a
+     * consumer, smallest prime first.  Nothing is allocated per pair.
+     *
+     * @param primeSieve    A sieve whose limit is at least the given number.
+     * @param num           An even number greater than 2.
+     * @param consumer      The consumer to pass each pair to.
+     */
+    public static void forEachPrimeSummand(PrimeSieve primeSieve, int num, PrimePairConsumer consumer) {
         // Check for invalid input
         if (num < 4 || num % 2 != 0) {
-            return pairs;
+            return;
+        }
+
+        // The only partition that uses the even prime is 4 = 2 + 2
+        if (num == 4) {
+            consumer.accept(2, 2);
         }
 
-        // Compute the Sieve of Eratosthenes
         int halfNum = num / 2;
-        boolean[] primeSieve = computePrimeSieve(num);
 
-        // Loop through prime numbers
-        for (int current = 2; current <= halfNum; current++) {
-            if (!primeSieve[current]) {
-                continue;
+        // Loop through odd prime numbers
+        for (int current = 3; current <= halfNum; current += 2) {
+            // If the current number and the number needed to reach the given
+            // number are both prime, pass them to the consumer
+            if (primeSieve.isPrime(current) && primeSieve.isPrime(num - current)) {
+                consumer.accept(current, num - current);
             }
+        }
+    }
+
+    /**
+     * Streams the smaller prime of each pair of primes that adds up to the
+     * given number.  The larger prime of each pair is num minus the streamed
+     * value.
+     *
+     * @param primeSieve    A sieve whose limit is at least the given number.
+     * @param num           An even number greater than 2.
+     * @return              A stream of the smaller primes, in ascending order.
+     */
+    public static IntStream primeSummands(PrimeSieve primeSieve, int num) {
+        // Check for invalid input
+        if (num < 4 || num % 2 != 0) {
+            return IntStream.empty();
+        }
 
-            // Determine which number, when added to the current prime, equals the given number
-            int needed = num - current;
+        if (num == 4) {
+            return IntStream.of(2);
+        }
+
+        return IntStream.iterate(3, current -> current + 2)
+                        .limit((num / 2 - 1) / 2)
+                        .filter(current -> primeSieve.isPrime(current) && primeSieve.isPrime(num - current));
+    }
 
-            // If that number is a prime number, add it to our solution
-            if (primeSieve[needed]) {
-                pairs.add(new Pair(current, needed));
+    /**
+     * Counts the pairs of prime numbers that add up to the given number
+     * (the Goldbach partition function g(n)).
+     *
+     * @param num       An even number greater than 2.
+     * @return          The number of unordered pairs of primes that add up
+     *                  to the given number.
+     */
+    public static int countPrimeSummands(int num) {
+        // Check for invalid input
+        if (num < 4 || num % 2 != 0) {
+            return 0;
+        }
+
+        return countPrimeSummands(new PrimeSieve(num), num);
+    }
+
+    /**
+     * Counts the pairs of prime numbers that add up to the given number
+     * (the Goldbach partition function g(n)) using a sieve that has already
+     * been computed.
+     *
+     * @param primeSieve    A sieve whose limit is at least the given number.
+     * @param num           An even number greater than 2.
+     * @return              The number of unordered pairs of primes that add
+     *                      up to the given number.
+     */
+    public static int countPrimeSummands(PrimeSieve primeSieve, int num) {
+        // Check for invalid input
+        if (num < 4 || num % 2 != 0) {
+            return 0;
+        }
+
+        if (num == 4) {
+            return 1;
+        }
+
+        int count = 0;
+        int halfNum = num / 2;
+
+        for (int current = 3; current <= halfNum; current += 2) {
+            if (primeSieve.isPrime(current) && primeSieve.isPrime(num - current)) {
+                count++;
             }
         }
 
-        return pairs;
+        return count;
     }
 
     /**
-     * Computes the Sieve of Eratosthenes.
+     * Computes the Sieve of Eratosthenes as a boolean array.  This uses one
+     * byte per number, so callers that sieve large ranges should use
+     * {@link PrimeSieve} directly.
      *
      * @param num       The maximum number that we need to test primality for.
      * @return          A boolean array where true means the current index is a prime number.
      */
     public static boolean[] computePrimeSieve(int num) {
+        PrimeSieve sieve = new PrimeSieve(num);
         boolean[] primeSieve = new boolean[num + 1];
-        Arrays.fill(primeSieve, true);
-        primeSieve[0] = primeSieve[1] = false;
-
-        for (int i = 2; i <= num; i++) {
-            if (!primeSieve[i]) {
-                continue;
-            }
 
-            // Set any multiples of the current number as non-primes
-            for (int j = 2, product = i * j; product <= num; j++, product = i * j) {
-                primeSieve[product] = false;
-            }
+        for (long prime = sieve.nextPrime(2); prime != -1; prime = sieve.nextPrime(prime + 1)) {
+            primeSieve[(int) prime] = true;
         }
 
         return primeSieve;
@@ -105,4 +201,18 @@ public class GoldbachsConjecture {
             this.num2 = num2;
         }
     }
+
+    /**
+     * This interface receives pairs of primes without boxing them.
+     */
+    public interface PrimePairConsumer {
+        /**
+         * Receives a pair of primes that add up to the number being
+         * partitioned.
+         *
+         * @param prime1    The smaller prime.
+         * @param prime2    The larger prime.
+         */
+        void accept(int prime1, int prime2);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,366 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This program computes a segmented, bit-packed Sieve of Eratosthenes.  Only
+ * odd numbers are stored (one bit each), so sieving up to n takes n / 16
+ * bytes.  The sieve is computed one L1-sized segment at a time, and each
+ * prime p starts crossing off multiples at p * p.  It runs in
+ * O(n lg lg n) time.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class PrimeSieve {
+    /** The number of odd candidates per segment (32 KB of bits). */
+    private static final int SEGMENT_BITS = 1 << 18;
+
+    /** The largest limit we can store with a long[] of odd bits. */
+    private static final long MAX_LIMIT = ((long) Integer.MAX_VALUE - 8) * 128;
+
+    private final long limit;
+
+    /** Bit i is set if and only if 2i + 1 is prime. */
+    private final long[] bits;
+
+    /**
+     * Runs the program with an example limit.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        long limit = 100000000;
+
+        long serialStart = System.nanoTime();
+        PrimeSieve sieve = new PrimeSieve(limit);
+        long serialTime = System.nanoTime() - serialStart;
+
+        long parallelStart = System.nanoTime();
+        PrimeSieve parallelSieve = new PrimeSieve(limit, ForkJoinPool.commonPool());
+        long parallelTime = System.nanoTime() - parallelStart;
+
+        System.out.println("There are " + sieve.countPrimes() + " primes less than or equal to " + limit + ".");
+        System.out.println("The sieve uses " + (sieve.bits.length * 8L) + " bytes.");
+        System.out.println("Serial: " + (serialTime / 1000000) + " ms, parallel: " + (parallelTime / 1000000) + " ms, identical: " + sieve.equals(parallelSieve));
+    }
+
+    /**
+     * Computes the sieve for all numbers from 0 to the given limit.
+     *
+     * @param limit     The maximum number that we need to test primality for.
+     */
+    public PrimeSieve(long limit) {
+        long numBits = numBits(checkLimit(limit));
+        int[] basePrimes = computeBasePrimes(limit);
+
+        this.limit = limit;
+        this.bits = new long[(int) ((numBits + 63) >>> 6)];
+
+        for (long segmentStart = 0; segmentStart < numBits; segmentStart += SEGMENT_BITS) {
+            sieveSegment(bits, basePrimes, segmentStart, Math.min(segmentStart + SEGMENT_BITS, numBits));
+        }
+
+        finish();
+    }
+
+    /**
+     * Computes the sieve for all numbers from 0 to the given limit in
+     * parallel.  Segments are handed out to the given pool, and every worker
+     * shares the same table of base primes.  The result is identical to the
+     * serial sieve.
+     *
+     * @param limit     The maximum number that we need to test primality for.
+     * @param pool      The pool to run the segments on.
+     */
+    public PrimeSieve(long limit, ForkJoinPool pool) {
+        long numBits = numBits(checkLimit(limit));
+        int[] basePrimes = computeBasePrimes(limit);
+
+        this.limit = limit;
+        this.bits = new long[(int) ((numBits + 63) >>> 6)];
+
+        long numSegments = (numBits + SEGMENT_BITS - 1) / SEGMENT_BITS;
+        pool.invoke(new SieveTask(bits, basePrimes, numBits, 0, numSegments));
+
+        finish();
+    }
+
+    /**
+     * Returns the largest number covered by this sieve.
+     *
+     * @return          The limit that this sieve was computed for.
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Determines whether the given number is prime.
+     *
+     * @param n         The number to test (at most the limit of this sieve).
+     * @return          True if the given number is prime and false otherwise.
+     */
+    public boolean isPrime(long n) {
+        if (n > limit) {
+            throw new IllegalArgumentException(n + " is larger than the sieve limit " + limit);
+        }
+
+        if (n < 3) {
+            return n == 2;
+        }
+
+        if ((n & 1) == 0) {
+            return false;
+        }
+
+        long index = n >>> 1;
+
+        return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Finds the smallest prime number greater than or equal to the given number.
+     *
+     * @param n         The number to start searching from.
+     * @return          The next prime, or -1 if there is no prime in [n, limit].
+     */
+    public long nextPrime(long n) {
+        if (n <= 2) {
+            return (limit >= 2) ? 2 : -1;
+        }
+
+        if (n > limit) {
+            return -1;
+        }
+
+        long index = n >>> 1;
+        int wordIndex = (int) (index >>> 6);
+
+        // An even limit has no bit for limit + 1
+        if (wordIndex == bits.length) {
+            return -1;
+        }
+
+        long word = bits[wordIndex] & (-1L << index);
+
+        while (word == 0) {
+            if (++wordIndex == bits.length) {
+                return -1;
+            }
+
+            word = bits[wordIndex];
+        }
+
+        return ((((long) wordIndex << 6) + Long.numberOfTrailingZeros(word)) << 1) + 1;
+    }
+
+    /**
+     * Counts the prime numbers less than or equal to the limit of this sieve.
+     *
+     * @return          The number of primes in [0, limit].
+     */
+    public long countPrimes() {
+        long count = (limit >= 2) ? 1 : 0;
+
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    /**
+     * Determines whether this sieve has the same limit and the same primes as
+     * another sieve.
+     *
+     * @param other     The object to compare with.
+     * @return          True if the sieves are identical and false otherwise.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PrimeSieve)) {
+            return false;
+        }
+
+        PrimeSieve sieve = (PrimeSieve) other;
+
+        return limit == sieve.limit && Arrays.equals(bits, sieve.bits);
+    }
+
+    /**
+     * Computes a hash code that is consistent with {@link #equals(Object)}.
+     *
+     * @return          The hash code of this sieve.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(limit) + Arrays.hashCode(bits);
+    }
+
+    /**
+     * Ensures that the given limit can be represented by a sieve.
+     *
+     * @param limit     The limit of the sieve.
+     * @return          The same limit.
+     */
+    private static long checkLimit(long limit) {
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be in [0, " + MAX_LIMIT + "]: " + limit);
+        }
+
+        return limit;
+    }
+
+    /**
+     * Computes the number of odd candidates (1, 3, 5, ...) in [0, limit].
+     *
+     * @param limit     The limit of the sieve.
+     * @return          The number of bits needed to represent the sieve.
+     */
+    private static long numBits(long limit) {
+        return (limit + 1) >>> 1;
+    }
+
+    /**
+     * Computes the odd primes up to the square root of the given limit with a
+     * simple sieve.  These are the primes that cross off composites in every
+     * segment.
+     *
+     * @param limit     The limit of the full sieve.
+     * @return          The odd primes p with p * p <= limit, in ascending order.
+     */
+    static int[] computeBasePrimes(long limit) {
+        int root = (int) Math.sqrt((double) limit);
+
+        while ((long) (root + 1) * (root + 1) <= limit) {
+            root++;
+        }
+
+        while ((long) root * root > limit) {
+            root--;
+        }
+
+        boolean[] composite = new boolean[root + 1];
+        int[] primes = new int[Math.max(root / 2, 1)];
+        int count = 0;
+
+        for (int i = 3; i <= root; i += 2) {
+            if (composite[i]) {
+                continue;
+            }
+
+            primes[count++] = i;
+
+            for (long j = (long) i * i; j <= root; j += 2 * i) {
+                composite[(int) j] = true;
+            }
+        }
+
+        return Arrays.copyOf(primes, count);
+    }
+
+    /**
+     * Sieves a single segment of odd candidates.  The segment must start on a
+     * word boundary so that different segments never share a word.
+     *
+     * @param bits          The bits of the sieve.
+     * @param basePrimes    The odd primes up to the square root of the limit.
+     * @param startBit      The first bit of the segment (a multiple of 64).
+     * @param endBit        One past the last bit of the segment.
+     */
+    static void sieveSegment(long[] bits, int[] basePrimes, long startBit, long endBit) {
+        int startWord = (int) (startBit >>> 6);
+        int endWord = (int) ((endBit + 63) >>> 6);
+
+        Arrays.fill(bits, startWord, endWord, -1L);
+
+        for (int p : basePrimes) {
+            // The bit for p * p is (p * p) / 2, and odd multiples of p are p bits apart
+            long index = ((long) p * p) >>> 1;
+
+            if (index >= endBit) {
+                break;
+            }
+
+            if (index < startBit) {
+                index += ((startBit - index + p - 1) / p) * p;
+            }
+
+            // Set any odd multiples of the current prime as non-primes
+            for (; index < endBit; index += p) {
+                bits[(int) (index >>> 6)] &= ~(1L << index);
+            }
+        }
+    }
+
+    /**
+     * Clears the bits that do not correspond to primes once all of the
+     * segments have been sieved: the bit for 1 and any padding bits past
+     * the limit.
+     */
+    private void finish() {
+        if (bits.length == 0) {
+            return;
+        }
+
+        bits[0] &= ~1L;
+
+        int tailBits = (int) (numBits(limit) & 63);
+
+        if (tailBits != 0) {
+            bits[bits.length - 1] &= (1L << tailBits) - 1;
+        }
+    }
+
+    /**
+     * This class sieves a range of segments, splitting the range in half
+     * until only a few segments are left for each worker.
+     */
+    private static class SieveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /** The number of segments below which a task sieves serially. */
+        private static final long SEGMENTS_PER_TASK = 4;
+
+        private final long[] bits;
+        private final int[] basePrimes;
+        private final long numBits;
+        private final long startSegment;
+        private final long endSegment;
+
+        /**
+         * Creates a new task.
+         *
+         * @param bits          The bits of the sieve.
+         * @param basePrimes    The odd primes up to the square root of the limit.
+         * @param numBits       The total number of bits in the sieve.
+         * @param startSegment  The first segment to sieve.
+         * @param endSegment    One past the last segment to sieve.
+         */
+        public SieveTask(long[] bits, int[] basePrimes, long numBits, long startSegment, long endSegment) {
+            this.bits = bits;
+            this.basePrimes = basePrimes;
+            this.numBits = numBits;
+            this.startSegment = startSegment;
+            this.endSegment = endSegment;
+        }
+
+        @Override
+        protected void compute() {
+            if (endSegment - startSegment <= SEGMENTS_PER_TASK) {
+                for (long segment = startSegment; segment < endSegment; segment++) {
+                    long startBit = segment * SEGMENT_BITS;
+                    sieveSegment(bits, basePrimes, startBit, Math.min(startBit + SEGMENT_BITS, numBits));
+                }
+
+                return;
+            }
+
+            long middleSegment = (startSegment + endSegment) >>> 1;
+
+            invokeAll(new SieveTask(bits, basePrimes, numBits, startSegment, middleSegment),
+                      new SieveTask(bits, basePrimes, numBits, middleSegment, endSegment));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This program determines the kth order statistic of an int array, a slice
+ * of one, or an IntBuffer without modifying it, so that read-only shared
+ * data does not have to be cloned for every query.  Results are primitive
+ * ints, and a k outside the slice throws an IllegalArgumentException.
+ *
+ * There are two strategies.  Slices of up to MAX_SCRATCH_SIZE elements are
+ * copied into a scratch array that is kept per thread and reused, and the
+ * copy is selected with Quickselect.blockSelect.  Larger slices, and
+ * IntBuffers (which may be read-only or off-heap), are selected with radix
+ * select instead, which never writes to the data: each of four passes
+ * counts the next 8-bit digit of the values that match the digits chosen so
+ * far, and picks the digit whose counts contain the kth value.  Both take
+ * O(n) time, and once a thread has warmed up, neither allocates.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class KthSmallest {
+    /** The largest slice that is copied into the per-thread scratch array (16 MB). */
+    public static final int MAX_SCRATCH_SIZE = 1 << 22;
+
+    /** The number of bits in a radix select digit. */
+    private static final int DIGIT_BITS = 8;
+
+    /** Flipping the sign bit makes unsigned order of the keys match signed order of the values. */
+    private static final int SIGN_FLIP = Integer.MIN_VALUE;
+
+    /** The scratch space of each thread. */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Runs the program with an example list.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int[] list = { 3, 5, 9, 10, 7, 40, 23, 45, 21, 2 };
+        int k = 6;
+
+        System.out.println("The kth smallest element in the list where k=" + k + " is " + kthSmallest(list, k) + ".");
+        System.out.println("The kth smallest element in the first half where k=3 is " + kthSmallest(list, 0, 5, 3) + ".");
+        System.out.println("Radix select agrees: " + radixSelect(IntBuffer.wrap(list).asReadOnlyBuffer(), k) + ".");
+        System.out.println("The list is unchanged: " + Arrays.toString(list) + ".");
+    }
+
+    /**
+     * Determines the kth order statistic for the given list.
+     *
+     * @param list      The list, which is not modified.
+     * @param k         The k value to use, in [1, list.length].
+     * @return          The kth order statistic for the list.
+     */
+    public static int kthSmallest(int[] list, int k) {
+        return kthSmallest(list, 0, list.length, k);
+    }
+
+    /**
+     * Determines the kth order statistic for a slice of the given list.
+     *
+     * @param list      The list, which is not modified.
+     * @param from      The index of the first element of the slice.
+     * @param to        One past the index of the last element of the slice.
+     * @param k         The k value to use, in [1, to - from].
+     * @return          The kth order statistic for the slice.
+     */
+    public static int kthSmallest(int[] list, int from, int to, int k) {
+        Objects.checkFromToIndex(from, to, list.length);
+        checkK(k, to - from);
+
+        int size = to - from;
+
+        if (size > MAX_SCRATCH_SIZE) {
+            return radixSelect(list, from, to, k);
+        }
+
+        Scratch scratch = SCRATCH.get();
+
+        if (scratch.values.length < size) {
+            scratch.values = new int[Math.max(size, Math.min(2 * scratch.values.length, MAX_SCRATCH_SIZE))];
+        }
+
+        System.arraycopy(list, from, scratch.values, 0, size);
+
+        return Quickselect.blockSelect(scratch.values, 0, size - 1, k - 1, scratch.leftOffsets, scratch.rightOffsets);
+    }
+
+    /**
+     * Determines the kth order statistic for a slice of the given list with
+     * radix select.  Nothing is written to the list or allocated.
+     *
+     * @param list      The list, which is not modified.
+     * @param from      The index of the first element of the slice.
+     * @param to        One past the index of the last element of the slice.
+     * @param k         The k value to use, in [1, to - from].
+     * @return          The kth order statistic for the slice.
+     */
+    public static int radixSelect(int[] list, int from, int to, int k) {
+        Objects.checkFromToIndex(from, to, list.length);
+        checkK(k, to - from);
+
+        int[] counts = SCRATCH.get().counts;
+        int prefix = 0;
+        int mask = 0;
+
+        for (int shift = Integer.SIZE - DIGIT_BITS; shift >= 0; shift -= DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+
+            for (int i = from; i < to; i++) {
+                int key = list[i] ^ SIGN_FLIP;
+
+                if ((key & mask) == prefix) {
+                    counts[(key >>> shift) & 0xFF]++;
+                }
+            }
+
+            // Skip the values with smaller digits
+            int digit = 0;
+
+            while (counts[digit] < k) {
+                k -= counts[digit];
+                digit++;
+            }
+
+            prefix |= digit << shift;
+            mask |= 0xFF << shift;
+        }
+
+        return prefix ^ SIGN_FLIP;
+    }
+
+    /**
+     * Determines the kth order statistic for the elements of the given
+     * buffer from its position to its limit, with radix select.  The buffer
+     * is read with absolute gets, so its position, limit, and contents are
+     * left unchanged, and it may be read-only or direct (off-heap).
+     *
+     * @param buffer    The buffer, which is not modified.
+     * @param k         The k value to use, in [1, buffer.remaining()].
+     * @return          The kth order statistic for the buffer's elements.
+     */
+    public static int radixSelect(IntBuffer buffer, int k) {
+        checkK(k, buffer.remaining());
+
+        int[] counts = SCRATCH.get().counts;
+        int from = buffer.position();
+        int to = buffer.limit();
+        int prefix = 0;
+        int mask = 0;
+
+        for (int shift = Integer.SIZE - DIGIT_BITS; shift >= 0; shift -= DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+
+            for (int i = from; i < to; i++) {
+                int key = buffer.get(i) ^ SIGN_FLIP;
+
+                if ((key & mask) == prefix) {
+                    counts[(key >>> shift) & 0xFF]++;
+                }
+            }
+
+            // Skip the values with smaller digits
+            int digit = 0;
+
+            while (counts[digit] < k) {
+                k -= counts[digit];
+                digit++;
+            }
+
+            prefix |= digit << shift;
+            mask |= 0xFF << shift;
+        }
+
+        return prefix ^ SIGN_FLIP;
+    }
+
+    /**
+     * Ensures that k is a valid rank.
+     *
+     * @param k     The k value.
+     * @param n     The number of elements.
+     */
+    private static void checkK(int k, int n) {
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k must be in [1, " + n + "]: " + k);
+        }
+    }
+
+    /**
+     * This class holds the scratch space that a thread reuses across
+     * selections.
+     */
+    private static class Scratch {
+        /** The copy of the slice being selected. */
+        private int[] values = new int[0];
+
+        /** The offset buffers for Quickselect.blockSelect. */
+        private final int[] leftOffsets = new int[Quickselect.BLOCK_SIZE];
+        private final int[] rightOffsets = new int[Quickselect.BLOCK_SIZE];
+
+        /** The number of values with each radix select digit. */
+        private final int[] counts = new int[1 << DIGIT_BITS];
+    }
+}
\ No newline at end of file
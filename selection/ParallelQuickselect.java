@@ -0,0 +1,500 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This program determines the kth order statistic of a huge list on a
+ * fork-join pool.  It draws a random sample of about n^(2/3) values, sorts
+ * it, and picks two pivots from it that bracket the kth order statistic with
+ * high probability.  The list is then scanned in parallel chunks twice: once
+ * to count the values below and between the pivots, and once to copy the
+ * values between the pivots (the band, about 2 n^(2/3) sqrt(ln n) values,
+ * or 1% of a list of 500 million) into a new array at offsets given by the
+ * prefix sums of the counts.  The band is
+ * small enough to finish serially.  This takes O(n / p) time on p threads
+ * with high probability, and the list is never modified.
+ *
+ * If the sample misses (the kth order statistic is outside the band), which
+ * happens with vanishing probability, the whole list is copied and selected
+ * serially instead, so the result is always correct.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class ParallelQuickselect {
+    /** The list size below which the selection runs serially. */
+    private static final int SERIAL_THRESHOLD = 1 << 17;
+
+    /** The smallest number of values a chunk scans. */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    /** The number of chunks per thread, so that uneven threads even out. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Runs the program with an example list.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int[] list = new int[10000000];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < list.length; i++) {
+            list[i] = random.nextInt(1000000);
+        }
+
+        int k = list.length / 2;
+        System.out.println("The kth smallest element in the list where k=" + k + " is " + select(list, k) + ".");
+    }
+
+    /**
+     * Determines the kth order statistic for the given list on the common
+     * pool.
+     *
+     * @param list      The list, which is not modified.
+     * @param k         The k value to use, in [1, list.length].
+     * @return          The kth order statistic for the list.
+     */
+    public static int select(int[] list, int k) {
+        return select(list, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Determines the kth order statistic for the given list.
+     *
+     * @param list      The list, which is not modified.
+     * @param k         The k value to use, in [1, list.length].
+     * @param pool      The pool to scan on.
+     * @return          The kth order statistic for the list.
+     */
+    public static int select(int[] list, int k, ForkJoinPool pool) {
+        checkK(k, list.length);
+
+        if (list.length >= SERIAL_THRESHOLD) {
+            int[] sample = new int[sampleSize(list.length)];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < sample.length; i++) {
+                sample[i] = list[random.nextInt(list.length)];
+            }
+
+            Arrays.sort(sample);
+
+            int lowIndex = lowSampleIndex(sample.length, list.length, k);
+            int highIndex = highSampleIndex(sample.length, list.length, k);
+            Band band = new Band(list, null, (lowIndex < 0) ? Integer.MIN_VALUE : sample[lowIndex], (highIndex >= sample.length) ? Integer.MAX_VALUE : sample[highIndex], pool);
+
+            if (band.contains(k)) {
+                if (band.low == band.high) {
+                    return (int) band.low;
+                }
+
+                return Quickselect.introselect(band.copyInts(), k - band.numLess);
+            }
+        }
+
+        // Small lists, and the rare sample that misses, are selected serially
+        return Quickselect.introselect(list.clone(), k);
+    }
+
+    /**
+     * Determines the kth order statistic for the given list on the common
+     * pool.
+     *
+     * @param list      The list, which is not modified.
+     * @param k         The k value to use, in [1, list.length].
+     * @return          The kth order statistic for the list.
+     */
+    public static long select(long[] list, int k) {
+        return select(list, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Determines the kth order statistic for the given list.
+     *
+     * @param list      The list, which is not modified.
+     * @param k         The k value to use, in [1, list.length].
+     * @param pool      The pool to scan on.
+     * @return          The kth order statistic for the list.
+     */
+    public static long select(long[] list, int k, ForkJoinPool pool) {
+        checkK(k, list.length);
+
+        if (list.length >= SERIAL_THRESHOLD) {
+            long[] sample = new long[sampleSize(list.length)];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < sample.length; i++) {
+                sample[i] = list[random.nextInt(list.length)];
+            }
+
+            Arrays.sort(sample);
+
+            int lowIndex = lowSampleIndex(sample.length, list.length, k);
+            int highIndex = highSampleIndex(sample.length, list.length, k);
+
+            Band band = new Band(null, list, (lowIndex < 0) ? Long.MIN_VALUE : sample[lowIndex], (highIndex >= sample.length) ? Long.MAX_VALUE : sample[highIndex], pool);
+
+            if (band.contains(k)) {
+                if (band.low == band.high) {
+                    return band.low;
+                }
+
+                long[] values = band.copyLongs();
+
+                return serialSelect(values, 0, values.length - 1, k - band.numLess - 1);
+            }
+        }
+
+        // Small lists, and the rare sample that misses, are selected serially
+        long[] copy = list.clone();
+
+        return serialSelect(copy, 0, copy.length - 1, k - 1);
+    }
+
+    /**
+     * Ensures that k is a valid rank.
+     *
+     * @param k     The k value.
+     * @param n     The size of the list.
+     */
+    private static void checkK(int k, int n) {
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k must be in [1, " + n + "]: " + k);
+        }
+    }
+
+    /**
+     * @param n     The size of the list.
+     * @return      The number of values to sample, about n^(2/3).
+     */
+    private static int sampleSize(int n) {
+        return (int) Math.min(n, Math.max(1024, Math.pow(n, 2.0 / 3.0)));
+    }
+
+    /**
+     * @param s     The size of the sample.
+     * @param n     The size of the list.
+     * @return      The number of sample positions on each side of the
+     *              expected position of the kth order statistic that the
+     *              pivots are taken from.  At sqrt(s ln n), the kth order
+     *              statistic falls outside the band with probability that
+     *              vanishes as n grows.
+     */
+    private static int sampleGap(int s, int n) {
+        return (int) Math.sqrt(s * Math.log(n));
+    }
+
+    /**
+     * @param s     The size of the sample.
+     * @param n     The size of the list.
+     * @param k     The k value.
+     * @return      The index in the sorted sample of the low pivot, or a
+     *              negative number if the band has no lower bound.
+     */
+    private static int lowSampleIndex(int s, int n, int k) {
+        return (int) ((long) k * s / n) - sampleGap(s, n);
+    }
+
+    /**
+     * @param s     The size of the sample.
+     * @param n     The size of the list.
+     * @param k     The k value.
+     * @return      The index in the sorted sample of the high pivot, or a
+     *              number of at least s if the band has no upper bound.
+     */
+    private static int highSampleIndex(int s, int n, int k) {
+        return (int) ((long) k * s / n) + sampleGap(s, n);
+    }
+
+    /**
+     * Compares two longs without a branch.  The counting passes compare
+     * every value against the pivots, and on random data a branch there is
+     * mispredicted about half of the time.
+     *
+     * @param x     The first value.
+     * @param y     The second value.
+     * @return      1 if x is less than y and 0 otherwise.
+     */
+    private static int lessThan(long x, long y) {
+        long difference = x - y;
+
+        // The sign of x - y, corrected for overflow (Hacker's Delight, 2-12)
+        return (int) ((difference ^ ((x ^ y) & (difference ^ x))) >>> 63);
+    }
+
+    /**
+     * Determines the value that would be at the given index if a sublist of
+     * longs were sorted.  Like Quickselect.introselect, it partitions around
+     * the median of 3 into three parts, but once the number of partitions
+     * exceeds 2 lg n, it sorts what is left, so it runs in O(n) time in the
+     * average case and O(n lg n) time in the worst case.  The list is
+     * rearranged.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the sublist.
+     * @param rightIndex    The right index of the sublist.
+     * @param index         The index to find the value for, in
+     *                      [leftIndex, rightIndex].
+     * @return              The value at that index in sorted order.
+     */
+    private static long serialSelect(long[] list, int leftIndex, int rightIndex, int index) {
+        int partitionsLeft = 2 * (32 - Integer.numberOfLeadingZeros(rightIndex - leftIndex + 1));
+
+        while (leftIndex < rightIndex) {
+            if (partitionsLeft-- == 0) {
+                Arrays.sort(list, leftIndex, rightIndex + 1);
+                break;
+            }
+
+            // Median of 3
+            int centerIndex = (leftIndex + rightIndex) >>> 1;
+            long a = list[leftIndex];
+            long b = list[centerIndex];
+            long c = list[rightIndex];
+            long pivotValue = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+            // Dutch national flag partition
+            int lessEnd = leftIndex;
+            int greaterStart = rightIndex;
+            int i = leftIndex;
+
+            while (i <= greaterStart) {
+                long value = list[i];
+
+                if (value < pivotValue) {
+                    list[i++] = list[lessEnd];
+                    list[lessEnd++] = value;
+                } else if (value > pivotValue) {
+                    list[i] = list[greaterStart];
+                    list[greaterStart--] = value;
+                } else {
+                    i++;
+                }
+            }
+
+            if (index < lessEnd) {
+                rightIndex = lessEnd - 1;
+            } else if (index > greaterStart) {
+                leftIndex = greaterStart + 1;
+            } else {
+                return pivotValue;
+            }
+        }
+
+        return list[index];
+    }
+
+    /**
+     * This class holds the values of a list between two pivots, inclusive.
+     * It counts them and copies them out in two parallel passes over chunks
+     * of the list.
+     */
+    private static class Band {
+        private final int[] ints;
+        private final long[] longs;
+        private final long low;
+        private final long high;
+        private final ForkJoinPool pool;
+        private final int chunkSize;
+
+        /** The number of values less than low in each chunk. */
+        private final int[] chunkLess;
+
+        /** The number of values in [low, high] in each chunk, and later the offset of each chunk in the band. */
+        private final int[] chunkBand;
+
+        /** The number of values less than low. */
+        private int numLess;
+
+        /** The number of values in [low, high]. */
+        private int numBand;
+
+        /** The values in [low, high], once they have been copied. */
+        private int[] intValues;
+        private long[] longValues;
+
+        /**
+         * Counts the values of a list in [low, high].  Exactly one of ints
+         * and longs is not null.
+         *
+         * @param ints      The list, if it holds ints.
+         * @param longs     The list, if it holds longs.
+         * @param low       The low pivot.
+         * @param high      The high pivot.
+         * @param pool      The pool to scan on.
+         */
+        public Band(int[] ints, long[] longs, long low, long high, ForkJoinPool pool) {
+            int n = (ints != null) ? ints.length : longs.length;
+            int numChunks = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, n / MIN_CHUNK_SIZE));
+
+            this.ints = ints;
+            this.longs = longs;
+            this.low = low;
+            this.high = high;
+            this.pool = pool;
+            this.chunkSize = (int) (((long) n + numChunks - 1) / numChunks);
+            this.chunkLess = new int[numChunks];
+            this.chunkBand = new int[numChunks];
+
+            pool.invoke(new ChunkTask(this, 0, numChunks));
+
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                numLess += chunkLess[chunk];
+                numBand += chunkBand[chunk];
+            }
+        }
+
+        /**
+         * @param k     The k value.
+         * @return      True if the kth order statistic is in [low, high] and
+         *              false otherwise.
+         */
+        public boolean contains(int k) {
+            return k > numLess && k <= numLess + numBand;
+        }
+
+        /**
+         * @return      A new array holding the values in [low, high] of an
+         *              int list, in no particular order.
+         */
+        public int[] copyInts() {
+            intValues = new int[numBand];
+            copy();
+
+            return intValues;
+        }
+
+        /**
+         * @return      A new array holding the values in [low, high] of a
+         *              long list, in no particular order.
+         */
+        public long[] copyLongs() {
+            longValues = new long[numBand];
+            copy();
+
+            return longValues;
+        }
+
+        /**
+         * Copies the values in [low, high] into the band array, with each
+         * chunk writing to its own range.
+         */
+        private void copy() {
+            // Turn the counts into offsets
+            for (int chunk = 0, offset = 0; chunk < chunkBand.length; chunk++) {
+                int count = chunkBand[chunk];
+                chunkBand[chunk] = offset;
+                offset += count;
+            }
+
+            pool.invoke(new ChunkTask(this, 0, chunkBand.length));
+        }
+
+        /**
+         * Counts the values of a chunk before the band has been allocated,
+         * and copies the chunk's values in [low, high] into it afterwards.
+         *
+         * @param chunk     The index of the chunk.
+         */
+        public void scanChunk(int chunk) {
+            int start = chunk * chunkSize;
+
+            if (ints != null) {
+                int end = (int) Math.min((long) start + chunkSize, ints.length);
+
+                if (intValues == null) {
+                    int less = 0;
+                    int atMostHigh = 0;
+
+                    // The pivots are ints here, so these differences cannot overflow
+                    for (int i = start; i < end; i++) {
+                        long value = ints[i];
+                        less += (int) ((value - low) >>> 63);
+                        atMostHigh += (int) ((value - high - 1) >>> 63);
+                    }
+
+                    chunkLess[chunk] = less;
+                    chunkBand[chunk] = atMostHigh - less;
+                } else {
+                    int offset = chunkBand[chunk];
+
+                    // Only about 1% of the values are in the band, so this branch is predictable
+                    for (int i = start; i < end; i++) {
+                        long value = ints[i];
+
+                        if (((value - low) | (high - value)) >= 0) {
+                            intValues[offset++] = (int) value;
+                        }
+                    }
+                }
+            } else {
+                int end = (int) Math.min((long) start + chunkSize, longs.length);
+
+                if (longValues == null) {
+                    int less = 0;
+                    int greater = 0;
+
+                    for (int i = start; i < end; i++) {
+                        long value = longs[i];
+                        less += lessThan(value, low);
+                        greater += lessThan(high, value);
+                    }
+
+                    chunkLess[chunk] = less;
+                    chunkBand[chunk] = (end - start) - less - greater;
+                } else {
+                    int offset = chunkBand[chunk];
+
+                    for (int i = start; i < end; i++) {
+                        long value = longs[i];
+
+                        if ((lessThan(value, low) | lessThan(high, value)) == 0) {
+                            longValues[offset++] = value;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This class scans a range of chunks of a band's list, splitting the
+     * range in half until it holds a single chunk.
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Band band;
+        private final int startChunk;
+        private final int endChunk;
+
+        /**
+         * Creates a new task.
+         *
+         * @param band          The band to scan for.
+         * @param startChunk    The first chunk to scan.
+         * @param endChunk      One past the last chunk to scan.
+         */
+        public ChunkTask(Band band, int startChunk, int endChunk) {
+            this.band = band;
+            this.startChunk = startChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - startChunk == 1) {
+                band.scanChunk(startChunk);
+                return;
+            }
+
+            int middle = (startChunk + endChunk) >>> 1;
+
+            invokeAll(new ChunkTask(band, startChunk, middle),
+                      new ChunkTask(band, middle, endChunk));
+        }
+    }
+}
\ No newline at end of file
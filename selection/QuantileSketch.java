@@ -0,0 +1,330 @@
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This program estimates the ranks and quantiles of a stream of ints that is
+ * too large to keep in memory, using the KLL sketch (Karnin, Lang, and
+ * Liberty, "Optimal Quantile Approximation in Streams").  The sketch keeps
+ * a stack of levels, and each value kept at level h stands for 2^h values of
+ * the stream.  When a level fills up, it is sorted and every other value
+ * (starting at a random one of the first two) is promoted to the next level,
+ * which halves the level while keeping every rank unbiased.  Levels shrink
+ * by a factor of 2/3 going down from the top one, which holds k values, so
+ * the sketch keeps O(k) values no matter how long the stream is.
+ *
+ * The accuracy parameter k trades memory for error: with k = 200, estimated
+ * ranks are within about 1.3% of the stream length with 99% confidence.
+ * Inserting takes O(lg k) amortized time (for sorting full levels), and
+ * sketches with the same k can be merged, so each thread or node can keep
+ * its own sketch and combine them later.  Until the first level fills up,
+ * the sketch holds the whole stream, and quantiles are answered exactly with
+ * Quickselect.
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class QuantileSketch {
+    /** The default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+
+    /** The smallest capacity of a level. */
+    private static final int MIN_CAPACITY = 8;
+
+    /** The factor by which the capacity shrinks from one level to the one below it. */
+    private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+    private final int k;
+
+    /** The values at each level, and the number of them in use. */
+    private int[][] levels;
+    private int[] sizes;
+
+    /** The number of values each level can hold before it is compacted. */
+    private int[] capacities;
+
+    /** The number of values in the stream. */
+    private long count;
+
+    /**
+     * Runs the program with an example stream split across two sketches.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 1000000; i++) {
+            // Latencies in microseconds, with a long tail
+            int latency = (int) (1000 * Math.exp(random.nextGaussian()));
+            ((i % 2 == 0) ? first : second).insert(latency);
+        }
+
+        first.merge(second);
+
+        double[] qs = { 0.5, 0.9, 0.99 };
+        int[] estimates = first.quantiles(qs);
+
+        for (int i = 0; i < qs.length; i++) {
+            System.out.println("The " + qs[i] + " quantile is about " + estimates[i] + " (" + first.retained() + " values kept for " + first.count() + ").");
+        }
+    }
+
+    /**
+     * Creates an empty sketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param k     The accuracy parameter (the capacity of the top level),
+     *              at least MIN_CAPACITY.  The rank error shrinks roughly
+     *              in proportion to 1 / k.
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_CAPACITY + ": " + k);
+        }
+
+        this.k = k;
+        this.levels = new int[][] { new int[k] };
+        this.sizes = new int[1];
+        this.capacities = new int[] { k };
+    }
+
+    /**
+     * @return      The number of values in the stream.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return      True if no values have been inserted and false otherwise.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return      True if the sketch still holds every value of the stream,
+     *              so that ranks and quantiles are exact, and false
+     *              otherwise.
+     */
+    public boolean isExact() {
+        return levels.length == 1;
+    }
+
+    /**
+     * @return      The number of values the sketch keeps.
+     */
+    public int retained() {
+        int retained = 0;
+
+        for (int size : sizes) {
+            retained += size;
+        }
+
+        return retained;
+    }
+
+    /**
+     * Adds a value of the stream to the sketch.
+     *
+     * @param value     The value.
+     */
+    public void insert(int value) {
+        append(0, value);
+        count++;
+
+        if (sizes[0] >= capacities[0]) {
+            compact();
+        }
+    }
+
+    /**
+     * Adds all of the values summarized by another sketch to this one.  The
+     * other sketch is not modified.
+     *
+     * @param other     The other sketch, which must have the same k.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge a sketch with k=" + other.k + " into one with k=" + k);
+        }
+
+        // Copy the sizes first, so that merging a sketch into itself only reads the original values
+        int[][] otherLevels = other.levels.clone();
+        int[] otherSizes = other.sizes.clone();
+
+        while (levels.length < otherLevels.length) {
+            addLevel();
+        }
+
+        for (int h = 0; h < otherLevels.length; h++) {
+            for (int i = 0; i < otherSizes[h]; i++) {
+                append(h, otherLevels[h][i]);
+            }
+        }
+
+        count += other.count;
+        compact();
+    }
+
+    /**
+     * Estimates the rank of a value: the number of values in the stream that
+     * are less than or equal to it.
+     *
+     * @param value     The value.
+     * @return          The estimated rank, in [0, count()].
+     */
+    public long rank(int value) {
+        long rank = 0;
+
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= value) {
+                    rank += 1L << h;
+                }
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Estimates a quantile of the stream with the nearest-rank method: the
+     * q quantile is the ceil(q * n)th smallest value (or the smallest value
+     * if q is 0).
+     *
+     * @param q     The quantile to find, in [0, 1].
+     * @return      The estimated q quantile.
+     */
+    public int quantile(double q) {
+        return quantiles(new double[] { q })[0];
+    }
+
+    /**
+     * Estimates several quantiles of the stream at once with the nearest-rank
+     * method.  While the sketch is exact, the kept values are copied and
+     * handed to Quickselect.quantiles.  Otherwise, the kept values are
+     * sorted once with their weights, and each quantile is the first value
+     * whose cumulative weight reaches its rank.
+     *
+     * @param qs    The quantiles to find, each in [0, 1], in any order.
+     * @return      An array whose ith value is the estimated qs[i] quantile.
+     */
+    public int[] quantiles(double[] qs) {
+        if (count == 0) {
+            throw new IllegalStateException("The sketch is empty");
+        }
+
+        if (isExact()) {
+            return Quickselect.quantiles(Arrays.copyOf(levels[0], sizes[0]), qs);
+        }
+
+        // Pack each value with its level so that sorting orders by value
+        long[] weighted = new long[retained()];
+        int numWeighted = 0;
+
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                weighted[numWeighted++] = ((long) levels[h][i] << 8) | h;
+            }
+        }
+
+        Arrays.sort(weighted);
+
+        int[] results = new int[qs.length];
+
+        for (int i = 0; i < qs.length; i++) {
+            if (!(qs[i] >= 0 && qs[i] <= 1)) {
+                throw new IllegalArgumentException("Quantiles must be in [0, 1]: " + qs[i]);
+            }
+
+            long targetRank = Math.max((long) Math.ceil(qs[i] * count), 1);
+            long rank = 0;
+            int j = 0;
+
+            // The weights add up to count, so the target rank is always reached
+            while (j < weighted.length - 1) {
+                rank += 1L << (weighted[j] & 0xFF);
+
+                if (rank >= targetRank) {
+                    break;
+                }
+
+                j++;
+            }
+
+            results[i] = (int) (weighted[j] >> 8);
+        }
+
+        return results;
+    }
+
+    /**
+     * Compacts every level that is at or over its capacity, from the bottom
+     * up.  A level is sorted, and every other value (starting at a random
+     * one of the first two) is promoted to the next level.  If the level
+     * holds an odd number of values, its smallest value stays behind.
+     */
+    private void compact() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] < capacities[h]) {
+                continue;
+            }
+
+            if (h == levels.length - 1) {
+                addLevel();
+            }
+
+            int[] level = levels[h];
+            int size = sizes[h];
+            int kept = size & 1;
+
+            Arrays.sort(level, 0, size);
+
+            for (int i = kept + ThreadLocalRandom.current().nextInt(2); i < size; i += 2) {
+                append(h + 1, level[i]);
+            }
+
+            sizes[h] = kept;
+        }
+    }
+
+    /**
+     * Adds an empty level on top and recomputes the capacities, which shrink
+     * by CAPACITY_RATIO going down from the top level.
+     */
+    private void addLevel() {
+        int numLevels = levels.length + 1;
+
+        levels = Arrays.copyOf(levels, numLevels);
+        sizes = Arrays.copyOf(sizes, numLevels);
+        capacities = new int[numLevels];
+        levels[numLevels - 1] = new int[MIN_CAPACITY];
+
+        for (int h = 0; h < numLevels; h++) {
+            capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, numLevels - 1 - h)));
+        }
+    }
+
+    /**
+     * Adds a value to a level, growing the level's array if needed.
+     *
+     * @param h         The level.
+     * @param value     The value.
+     */
+    private void append(int h, int value) {
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(2 * levels[h].length, MIN_CAPACITY));
+        }
+
+        levels[h][sizes[h]++] = value;
+    }
+}
\ No newline at end of file
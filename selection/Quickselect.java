@@ -1,12 +1,32 @@
+import java.util.Arrays;
+
 /**
  * This program determines the kth order statistic (the kth smallest number in a
  * list) in O(n) time in the average case and O(n^2) time in the worst case.  It
- * achieves this through the Quickselect algorithm.
+ * achieves this through the Quickselect algorithm.  It also offers introselect,
+ * which runs in O(n) time in the worst case by switching to the
+ * median-of-medians pivot when quickselect stops making progress.
  *
  * @author      John Kurlak <john@kurlak.com>
  * @date        1/17/2013
  */
 public class Quickselect {
+    /** The number of partitions introselect allows for halving the sublist. */
+    private static final int PARTITIONS_PER_HALVING = 4;
+
+    /** The number of elements the block partition classifies at a time. */
+    public static final int BLOCK_SIZE = 128;
+
+    /**
+     * The partition kernels that quickselect can use.  LOMUTO is the
+     * original randomPartition, whose loop branches on every comparison, so
+     * on random data it mispredicts about half of the time.  BLOCK is the
+     * BlockQuicksort partition used by blockSelect, which records the
+     * offsets of misplaced elements without branching and swaps them in
+     * bulk.
+     */
+    public enum PartitionKernel { LOMUTO, BLOCK }
+
     /**
      * Runs the program with an example list.
      *
@@ -22,6 +42,9 @@ public class Quickselect {
         } else {
             System.out.println("There is no kth smallest element in the list where k=" + k + ".");
         }
+
+        int[] percentiles = quantiles(list, new double[] { 0.5, 0.9, 0.99 });
+        System.out.println("The p50, p90, and p99 values are " + Arrays.toString(percentiles) + ".");
     }
 
     /**
@@ -35,6 +58,28 @@ public class Quickselect {
         return quickselect(list, 0, list.length - 1, k);
     }
 
+    /**
+     * Determines the kth order statistic for the given list with the given
+     * partition kernel.
+     *
+     * @param list      The list.
+     * @param k         The k value to use.
+     * @param kernel    The partition kernel to use.
+     * @return          The kth order statistic for the list.
+     */
+    public static Integer quickselect(int[] list, int k, PartitionKernel kernel) {
+        if (kernel == PartitionKernel.LOMUTO) {
+            return quickselect(list, k);
+        }
+
+        // Edge case
+        if (k < 1 || k > list.length) {
+            return null;
+        }
+
+        return blockSelect(list, 0, list.length - 1, k - 1);
+    }
+
     /**
      * Recursively determines the kth order statistic for the given list.
      *
@@ -69,6 +114,466 @@ public class Quickselect {
         }
     }
 
+    /**
+     * Determines the kth order statistic for the given list with introselect.
+     * It runs quickselect with a median-of-3 pivot and three-way partitioning
+     * (so runs of equal values are finished in one pass), but checks that
+     * every four partitions at least halve the sublist.  If they do not, it
+     * finishes with the median-of-medians algorithm.  Quickselect therefore
+     * does at most 8n work before the fallback, which takes O(n) time, so the
+     * whole selection takes O(n) time in the worst case.  The list is
+     * rearranged.
+     *
+     * @param list      The list.
+     * @param k         The k value to use.
+     * @return          The kth order statistic for the list.
+     */
+    public static Integer introselect(int[] list, int k) {
+        // Edge case
+        if (k < 1 || k > list.length) {
+            return null;
+        }
+
+        return introselect(list, 0, list.length - 1, k - 1);
+    }
+
+    /**
+     * Determines several order statistics for the given list at once.  Each
+     * partition splits the requested ranks between its two sides, and only
+     * the sides that contain requested ranks are partitioned further, so m
+     * ranks take O(n lg m) expected time instead of O(n m).  Once a side
+     * holds a single rank, it is finished with introselect.  After 2 lg n
+     * levels of partitioning, the median-of-medians pivot is used instead of
+     * the median of 3, so the worst case is O(n lg n).  The list is
+     * rearranged.
+     *
+     * @param list      The list.
+     * @param ks        The k values to use, in nondecreasing order, each in
+     *                  [1, list.length].
+     * @return          An array whose ith value is the ks[i]th order
+     *                  statistic for the list.
+     */
+    public static int[] quickselect(int[] list, int[] ks) {
+        for (int i = 0; i < ks.length; i++) {
+            if (ks[i] < 1 || ks[i] > list.length || (i > 0 && ks[i] < ks[i - 1])) {
+                throw new IllegalArgumentException("ks must be sorted and in [1, " + list.length + "]: " + Arrays.toString(ks));
+            }
+        }
+
+        int[] results = new int[ks.length];
+
+        if (ks.length > 0) {
+            int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(list.length));
+            multiselect(list, 0, list.length - 1, ks, 0, ks.length - 1, results, depthLimit);
+        }
+
+        return results;
+    }
+
+    /**
+     * Determines quantiles of the given list with the nearest-rank method:
+     * the q quantile is the ceil(q * n)th order statistic (or the smallest
+     * value if q is 0).  For example, quantiles(list, new double[] { 0.5,
+     * 0.9, 0.99 }) gives the p50, p90 and p99 values.  The list is
+     * rearranged.
+     *
+     * @param list      The list, which must not be empty.
+     * @param qs        The quantiles to find, each in [0, 1], in any order.
+     * @return          An array whose ith value is the qs[i] quantile.
+     */
+    public static int[] quantiles(int[] list, double[] qs) {
+        if (list.length == 0) {
+            throw new IllegalArgumentException("The list must not be empty");
+        }
+
+        // Sort the ranks along with their positions in qs
+        long[] ranksAndPositions = new long[qs.length];
+
+        for (int i = 0; i < qs.length; i++) {
+            if (!(qs[i] >= 0 && qs[i] <= 1)) {
+                throw new IllegalArgumentException("Quantiles must be in [0, 1]: " + qs[i]);
+            }
+
+            long rank = Math.max((long) Math.ceil(qs[i] * list.length), 1);
+            ranksAndPositions[i] = (rank << 32) | i;
+        }
+
+        Arrays.sort(ranksAndPositions);
+
+        int[] ks = new int[qs.length];
+
+        for (int i = 0; i < ks.length; i++) {
+            ks[i] = (int) (ranksAndPositions[i] >>> 32);
+        }
+
+        int[] sortedResults = quickselect(list, ks);
+        int[] results = new int[qs.length];
+
+        for (int i = 0; i < results.length; i++) {
+            results[(int) ranksAndPositions[i]] = sortedResults[i];
+        }
+
+        return results;
+    }
+
+    /**
+     * Recursively determines the order statistics for a range of requested
+     * ranks, all of which fall within the given sublist.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param ks            The requested k values, in nondecreasing order.
+     * @param firstK        The index in ks of the first rank to determine.
+     * @param lastK         The index in ks of the last rank to determine.
+     * @param results       The array to store the order statistics in.
+     * @param depthLimit    The number of levels left before switching to the
+     *                      median-of-medians pivot.
+     */
+    private static void multiselect(int[] list, int leftIndex, int rightIndex, int[] ks, int firstK, int lastK, int[] results, int depthLimit) {
+        // A single distinct rank is finished with introselect
+        if (ks[firstK] == ks[lastK]) {
+            Arrays.fill(results, firstK, lastK + 1, introselect(list, leftIndex, rightIndex, ks[firstK] - 1));
+            return;
+        }
+
+        int pivotValue = (depthLimit > 0) ? list[medianOf3(list, leftIndex, rightIndex)] : medianOfMedians(list, leftIndex, rightIndex);
+        int[] bounds = partition3(list, leftIndex, rightIndex, pivotValue);
+
+        // Split the ranks into those left of, equal to, and right of the pivot
+        int firstEqual = firstK;
+
+        while (firstEqual <= lastK && ks[firstEqual] - 1 < bounds[0]) {
+            firstEqual++;
+        }
+
+        int firstRight = firstEqual;
+
+        while (firstRight <= lastK && ks[firstRight] - 1 <= bounds[1]) {
+            results[firstRight++] = pivotValue;
+        }
+
+        if (firstEqual > firstK) {
+            multiselect(list, leftIndex, bounds[0] - 1, ks, firstK, firstEqual - 1, results, depthLimit - 1);
+        }
+
+        if (firstRight <= lastK) {
+            multiselect(list, bounds[1] + 1, rightIndex, ks, firstRight, lastK, results, depthLimit - 1);
+        }
+    }
+
+    /**
+     * Runs introselect on a sublist.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param index         The index to find the value for, in
+     *                      [leftIndex, rightIndex].
+     * @return              The value at that index in sorted order.
+     */
+    private static int introselect(int[] list, int leftIndex, int rightIndex, int index) {
+        int partitions = 0;
+        int sizeBeforePartitions = rightIndex - leftIndex + 1;
+
+        while (leftIndex < rightIndex) {
+            // Make sure that the sublist halves every few partitions
+            if (partitions == PARTITIONS_PER_HALVING) {
+                int size = rightIndex - leftIndex + 1;
+
+                if (size > sizeBeforePartitions / 2) {
+                    return linearSelect(list, leftIndex, rightIndex, index);
+                }
+
+                partitions = 0;
+                sizeBeforePartitions = size;
+            }
+
+            int pivotValue = list[medianOf3(list, leftIndex, rightIndex)];
+            int[] bounds = partition3(list, leftIndex, rightIndex, pivotValue);
+            partitions++;
+
+            if (index < bounds[0]) {
+                rightIndex = bounds[0] - 1;
+            } else if (index > bounds[1]) {
+                leftIndex = bounds[1] + 1;
+            } else {
+                return pivotValue;
+            }
+        }
+
+        return list[index];
+    }
+
+    /**
+     * Finds the value that would be at the given index if the sublist were
+     * sorted, using the block partition.  Values less than the pivot are
+     * split from the rest with one block partition; if the index is not
+     * among them, a second block partition splits the values equal to the
+     * pivot from the greater ones, so runs of equal values are finished
+     * instead of being partitioned again.  Like introselect, it falls back
+     * to the median-of-medians algorithm if every four partitions do not
+     * halve the sublist, so it runs in O(n) time in the worst case.  The
+     * sublist is rearranged.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param index         The index to find the value for, in
+     *                      [leftIndex, rightIndex].
+     * @return              The value at that index in sorted order.
+     */
+    public static int blockSelect(int[] list, int leftIndex, int rightIndex, int index) {
+        return blockSelect(list, leftIndex, rightIndex, index, new int[BLOCK_SIZE], new int[BLOCK_SIZE]);
+    }
+
+    /**
+     * Runs blockSelect with caller-supplied offset buffers, so that callers
+     * that select repeatedly can reuse them instead of allocating new ones.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param index         The index to find the value for, in
+     *                      [leftIndex, rightIndex].
+     * @param leftOffsets   A buffer of at least BLOCK_SIZE ints.
+     * @param rightOffsets  Another buffer of at least BLOCK_SIZE ints.
+     * @return              The value at that index in sorted order.
+     */
+    public static int blockSelect(int[] list, int leftIndex, int rightIndex, int index, int[] leftOffsets, int[] rightOffsets) {
+        int partitions = 0;
+        int sizeBeforePartitions = rightIndex - leftIndex + 1;
+
+        while (leftIndex < rightIndex) {
+            // Make sure that the sublist halves every few partitions
+            if (partitions == PARTITIONS_PER_HALVING) {
+                int size = rightIndex - leftIndex + 1;
+
+                if (size > sizeBeforePartitions / 2) {
+                    return linearSelect(list, leftIndex, rightIndex, index);
+                }
+
+                partitions = 0;
+                sizeBeforePartitions = size;
+            }
+
+            int pivotValue = list[medianOf3(list, leftIndex, rightIndex)];
+            int greaterOrEqualStart = blockPartition(list, leftIndex, rightIndex, pivotValue, leftOffsets, rightOffsets);
+            partitions++;
+
+            if (index < greaterOrEqualStart) {
+                rightIndex = greaterOrEqualStart - 1;
+                continue;
+            }
+
+            // The pivot is in the right part, so this split is never empty
+            int greaterStart = blockPartition(list, greaterOrEqualStart, rightIndex, pivotValue + 1L, leftOffsets, rightOffsets);
+
+            if (index < greaterStart) {
+                return pivotValue;
+            }
+
+            leftIndex = greaterStart;
+        }
+
+        return list[index];
+    }
+
+    /**
+     * Partitions a sublist into the values less than a bound and the rest,
+     * in the style of BlockQuicksort (Edelkamp and Weiss).  Like Hoare's
+     * partition, it scans from both ends, but it classifies a block of
+     * BLOCK_SIZE elements at each end first, storing the offsets of the
+     * misplaced ones with a comparison that is added to the count instead of
+     * branched on.  The misplaced elements are then swapped in pairs, and a
+     * block is advanced past once all of its misplaced elements have been
+     * swapped.  The few elements left in the middle are partitioned with a
+     * plain Hoare scan.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param bound         The bound.  It is a long so that "at most x" can
+     *                      be passed as x + 1 without overflowing.
+     * @param leftOffsets   A buffer of BLOCK_SIZE offsets for the left block.
+     * @param rightOffsets  A buffer of BLOCK_SIZE offsets for the right block.
+     * @return              The index of the first value that is not less than
+     *                      the bound, or rightIndex + 1 if there is none.
+     */
+    private static int blockPartition(int[] list, int leftIndex, int rightIndex, long bound, int[] leftOffsets, int[] rightOffsets) {
+        // Everything before left is less than the bound, and everything at or after right is not
+        int left = leftIndex;
+        int right = rightIndex + 1;
+        int numLeft = 0;
+        int numRight = 0;
+        int startLeft = 0;
+        int startRight = 0;
+
+        while (right - left > 2 * BLOCK_SIZE) {
+            if (numLeft == 0) {
+                startLeft = 0;
+
+                // Record the values that are not less than the bound (the sign bit is 0)
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    leftOffsets[numLeft] = i;
+                    numLeft += (int) ((~(list[left + i] - bound)) >>> 63);
+                }
+            }
+
+            if (numRight == 0) {
+                startRight = 0;
+
+                // Record the values that are less than the bound (the sign bit is 1)
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    rightOffsets[numRight] = i;
+                    numRight += (int) ((list[right - 1 - i] - bound) >>> 63);
+                }
+            }
+
+            int numSwaps = Math.min(numLeft, numRight);
+
+            for (int i = 0; i < numSwaps; i++) {
+                swap(list, left + leftOffsets[startLeft + i], right - 1 - rightOffsets[startRight + i]);
+            }
+
+            numLeft -= numSwaps;
+            numRight -= numSwaps;
+            startLeft += numSwaps;
+            startRight += numSwaps;
+
+            if (numLeft == 0) {
+                left += BLOCK_SIZE;
+            }
+
+            if (numRight == 0) {
+                right -= BLOCK_SIZE;
+            }
+        }
+
+        while (true) {
+            while (left < right && list[left] < bound) {
+                left++;
+            }
+
+            while (left < right && list[right - 1] >= bound) {
+                right--;
+            }
+
+            if (left == right) {
+                return left;
+            }
+
+            swap(list, left++, --right);
+        }
+    }
+
+    /**
+     * Finds the value that would be at the given index if the sublist were
+     * sorted, using the median-of-medians algorithm.  It runs in O(n) time in
+     * the worst case and rearranges the sublist.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param index         The index to find the value for, in
+     *                      [leftIndex, rightIndex].
+     * @return              The value at that index in sorted order.
+     */
+    public static int linearSelect(int[] list, int leftIndex, int rightIndex, int index) {
+        while (rightIndex - leftIndex >= 5) {
+            int pivotValue = medianOfMedians(list, leftIndex, rightIndex);
+            int[] bounds = partition3(list, leftIndex, rightIndex, pivotValue);
+
+            if (index < bounds[0]) {
+                rightIndex = bounds[0] - 1;
+            } else if (index > bounds[1]) {
+                leftIndex = bounds[1] + 1;
+            } else {
+                return pivotValue;
+            }
+        }
+
+        insertionSort(list, leftIndex, rightIndex);
+
+        return list[index];
+    }
+
+    /**
+     * Computes the median of medians of a sublist: the median of the medians
+     * of its groups of five.  At least 30% of the sublist is less than or
+     * equal to it and at least 30% is greater than or equal to it.  The
+     * medians are moved to the front of the sublist.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @return              The median of medians.
+     */
+    private static int medianOfMedians(int[] list, int leftIndex, int rightIndex) {
+        int numMedians = 0;
+
+        for (int groupLeft = leftIndex; groupLeft <= rightIndex; groupLeft += 5) {
+            int groupRight = Math.min(groupLeft + 4, rightIndex);
+
+            insertionSort(list, groupLeft, groupRight);
+            swap(list, leftIndex + numMedians, groupLeft + (groupRight - groupLeft) / 2);
+            numMedians++;
+        }
+
+        return linearSelect(list, leftIndex, leftIndex + numMedians - 1, leftIndex + (numMedians - 1) / 2);
+    }
+
+    /**
+     * Partitions a sublist into three parts (the Dutch national flag
+     * problem): values less than the pivot, values equal to the pivot, and
+     * values greater than the pivot.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param pivotValue    The pivot value, which must be in the sublist.
+     * @return              The first and last indices of the values equal to
+     *                      the pivot.
+     */
+    public static int[] partition3(int[] list, int leftIndex, int rightIndex, int pivotValue) {
+        int lessEnd = leftIndex;
+        int greaterStart = rightIndex;
+        int i = leftIndex;
+
+        while (i <= greaterStart) {
+            if (list[i] < pivotValue) {
+                swap(list, lessEnd++, i++);
+            } else if (list[i] > pivotValue) {
+                swap(list, i, greaterStart--);
+            } else {
+                i++;
+            }
+        }
+
+        return new int[] { lessEnd, greaterStart };
+    }
+
+    /**
+     * Sorts a short sublist with insertion sort.
+     *
+     * @param list          The list.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     */
+    private static void insertionSort(int[] list, int leftIndex, int rightIndex) {
+        for (int i = leftIndex + 1; i <= rightIndex; i++) {
+            int value = list[i];
+            int j = i - 1;
+
+            while (j >= leftIndex && list[j] > value) {
+                list[j + 1] = list[j];
+                j--;
+            }
+
+            list[j + 1] = value;
+        }
+    }
+
     /**
      * Randomly partitions a set about a pivot such that the values to the left
      * of the pivot are less than or equal to the pivot and the values to the
@@ -0,0 +1,284 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This program compares Quickselect.quickselect with Quickselect.introselect
+ * and with quickselect on the branch-free block partition kernel.  The
+ * inputs include ones that are known to be hard for quickselect: sorted,
+ * reverse sorted, organ pipe (ascending then descending), few distinct
+ * values, and a median-of-3 killer built for this quickselect.  Random input
+ * is included as the baseline, and it is where the block kernel's lack of
+ * mispredicted branches shows.  Every result is checked against a sorted
+ * copy.
+ *
+ * The killer is built with McIlroy's adversary ("A Killer Adversary for
+ * Quicksort"): a copy of quickselect is run on values that are decided
+ * lazily during the comparisons, always so that the pivot is as small as
+ * possible.  The decided values are then a concrete input that makes
+ * quickselect take quadratic time.
+ *
+ * The optional first argument is the input size (default 100,000).
+ *
+ * @author      John Kurlak <john@kurlak.com>
+ * @date        10/18/2026
+ */
+public class QuickselectBenchmark {
+    /** The names of the inputs being compared. */
+    private static final String[] INPUTS = { "random", "sorted", "reverse", "organ pipe", "few distinct", "median-of-3 killer" };
+
+    /** The names of the algorithms being compared. */
+    private static final String[] ALGORITHMS = { "quickselect", "introselect", "block kernel" };
+
+    /** The values of the adversary, indexed by original position (n until decided). */
+    private static int[] adversaryValues;
+
+    /** The number of values the adversary has decided. */
+    private static int numDecided;
+
+    /** The undecided element that was most recently compared against a decided one. */
+    private static int candidate;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args      The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+        int k = n / 2;
+
+        System.out.printf("%20s", "input");
+
+        for (String algorithm : ALGORITHMS) {
+            System.out.printf(" %14s", algorithm);
+        }
+
+        System.out.println();
+
+        for (int input = 0; input < INPUTS.length; input++) {
+            int[] list = createInput(input, n, k);
+            int[] sorted = list.clone();
+            Arrays.sort(sorted);
+
+            System.out.printf("%20s", INPUTS[input]);
+
+            for (int algorithm = 0; algorithm < ALGORITHMS.length; algorithm++) {
+                System.out.printf(" %14s", measure(list, k, sorted[k - 1], algorithm));
+            }
+
+            System.out.println();
+        }
+    }
+
+    /**
+     * Measures the best time of an algorithm over several runs.
+     *
+     * @param list          The input, which is not modified.
+     * @param k             The k value to use.
+     * @param expected      The kth order statistic of the input.
+     * @param algorithm     The index of the algorithm in ALGORITHMS.
+     * @return              The best time in milliseconds, or a note if the
+     *                      algorithm failed.
+     */
+    private static String measure(int[] list, int k, int expected, int algorithm) {
+        long best = Long.MAX_VALUE;
+
+        for (int run = 0; run < 5; run++) {
+            int[] copy = list.clone();
+            long start = System.nanoTime();
+            Integer result;
+
+            try {
+                result = select(copy, k, algorithm);
+            } catch (StackOverflowError e) {
+                return "stack overflow";
+            }
+
+            best = Math.min(best, System.nanoTime() - start);
+
+            if (result == null || result != expected) {
+                throw new IllegalStateException(ALGORITHMS[algorithm] + " returned " + result + " instead of " + expected);
+            }
+        }
+
+        return String.format("%.2f ms", best / 1e6);
+    }
+
+    /**
+     * Selects the kth order statistic with the given algorithm.
+     *
+     * @param list          The list, which may be rearranged.
+     * @param k             The k value to use.
+     * @param algorithm     The index of the algorithm in ALGORITHMS.
+     * @return              The kth order statistic for the list.
+     */
+    private static Integer select(int[] list, int k, int algorithm) {
+        switch (algorithm) {
+            case 0:
+                return Quickselect.quickselect(list, k);
+            case 1:
+                return Quickselect.introselect(list, k);
+            default:
+                return Quickselect.quickselect(list, k, Quickselect.PartitionKernel.BLOCK);
+        }
+    }
+
+    /**
+     * Creates an input.
+     *
+     * @param input     The index of the input in INPUTS.
+     * @param n         The size of the input.
+     * @param k         The k value that will be selected.
+     * @return          The input.
+     */
+    private static int[] createInput(int input, int n, int k) {
+        int[] list = new int[n];
+        Random random = new Random(42);
+
+        for (int i = 0; i < n; i++) {
+            switch (input) {
+                case 0:
+                    list[i] = random.nextInt();
+                    break;
+                case 1:
+                    list[i] = i;
+                    break;
+                case 2:
+                    list[i] = n - i;
+                    break;
+                case 3:
+                    list[i] = (i < n / 2) ? i : n - i;
+                    break;
+                case 4:
+                    list[i] = random.nextInt(4);
+                    break;
+                default:
+                    return createMedianOf3Killer(n, k);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Creates an input on which Quickselect.quickselect takes quadratic time
+     * by running a copy of it against McIlroy's adversary.
+     *
+     * @param n     The size of the input.
+     * @param k     The k value that will be selected.
+     * @return      The input.
+     */
+    private static int[] createMedianOf3Killer(int n, int k) {
+        int[] ids = new int[n];
+        adversaryValues = new int[n];
+        numDecided = 0;
+        candidate = -1;
+
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+
+            // Undecided values ("gas") are greater than every decided value
+            adversaryValues[i] = n;
+        }
+
+        simulateQuickselect(ids, 0, n - 1, k);
+
+        for (int i = 0; i < n; i++) {
+            if (adversaryValues[i] == n) {
+                adversaryValues[i] = numDecided++;
+            }
+        }
+
+        return adversaryValues;
+    }
+
+    /**
+     * Runs Quickselect.quickselect on element ids, comparing them through
+     * the adversary.  This mirrors quickselect, randomPartition and
+     * medianOf3 step for step.
+     *
+     * @param ids           The ids of the elements, in their current order.
+     * @param leftIndex     The left index of the current sublist.
+     * @param rightIndex    The right index of the current sublist.
+     * @param k             The k value to use.
+     */
+    private static void simulateQuickselect(int[] ids, int leftIndex, int rightIndex, int k) {
+        while (leftIndex < rightIndex) {
+            // medianOf3
+            int centerIndex = (leftIndex + rightIndex) / 2;
+
+            if (compare(ids[leftIndex], ids[rightIndex]) > 0) {
+                Quickselect.swap(ids, leftIndex, centerIndex);
+            }
+
+            if (compare(ids[leftIndex], ids[rightIndex]) > 0) {
+                Quickselect.swap(ids, leftIndex, rightIndex);
+            }
+
+            if (compare(ids[centerIndex], ids[rightIndex]) > 0) {
+                Quickselect.swap(ids, centerIndex, rightIndex);
+            }
+
+            Quickselect.swap(ids, centerIndex, rightIndex - 1);
+
+            // randomPartition
+            int pivotIndex = rightIndex - 1;
+            int pivot = ids[pivotIndex];
+            int storeIndex = leftIndex;
+
+            Quickselect.swap(ids, pivotIndex, rightIndex);
+
+            for (int i = leftIndex; i < rightIndex; i++) {
+                if (compare(ids[i], pivot) <= 0) {
+                    Quickselect.swap(ids, storeIndex, i);
+                    storeIndex++;
+                }
+            }
+
+            Quickselect.swap(ids, rightIndex, storeIndex);
+
+            // quickselect
+            int sizeLeft = storeIndex - leftIndex + 1;
+
+            if (sizeLeft == k) {
+                return;
+            } else if (sizeLeft > k) {
+                rightIndex = storeIndex - 1;
+            } else {
+                leftIndex = storeIndex + 1;
+                k -= sizeLeft;
+            }
+        }
+    }
+
+    /**
+     * Compares two elements for the adversary.  When both values are
+     * undecided, one is decided (the current pivot candidate if possible)
+     * to be smaller than every other undecided value.
+     *
+     * @param x     The id of the first element.
+     * @param y     The id of the second element.
+     * @return      A negative number, zero, or a positive number if the
+     *              first value is less than, equal to, or greater than the
+     *              second value.
+     */
+    private static int compare(int x, int y) {
+        int gas = adversaryValues.length;
+
+        if (adversaryValues[x] == gas && adversaryValues[y] == gas) {
+            if (x == candidate) {
+                adversaryValues[x] = numDecided++;
+            } else {
+                adversaryValues[y] = numDecided++;
+            }
+        }
+
+        if (adversaryValues[x] == gas) {
+            candidate = x;
+        } else if (adversaryValues[y] == gas) {
+            candidate = y;
+        }
+
+        return Integer.compare(adversaryValues[x], adversaryValues[y]);
+    }
+}
\ No newline at end of file